@@ -97,7 +97,10 @@ public class Core {
      */
     private void registerEvents() {
         plugin.getLogger().info("Registering events...");
-        plugin.getServer().getPluginManager().registerEvents(new EventListener(), plugin);
+        EventListener eventListener = new EventListener();
+        plugin.getServer().getPluginManager().registerEvents(eventListener, plugin);
+        eventListener.registerPhaseHandlers(gameManager.getEventBus());
+        mapManager.getRegionTriggers().registerHandlers(gameManager.getEventBus());
     }
 
     /**
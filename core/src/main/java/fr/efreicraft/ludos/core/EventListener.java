@@ -3,8 +3,10 @@ package fr.efreicraft.ludos.core;
 import com.destroystokyo.paper.event.player.PlayerPostRespawnEvent;
 import fr.efreicraft.animus.StandaloneHelper;
 import fr.efreicraft.ecatup.players.events.ECPlayerJoined;
+import fr.efreicraft.ludos.core.games.GameEventBus;
 import fr.efreicraft.ludos.core.games.GameManager;
 import fr.efreicraft.ludos.core.players.LudosPlayer;
+import fr.efreicraft.ludos.core.players.SlotReservations;
 import fr.efreicraft.ludos.core.utils.ActionBarUtils;
 import net.kyori.adventure.text.Component;
 import org.bukkit.event.EventHandler;
@@ -17,6 +19,8 @@ import org.bukkit.event.player.*;
 import org.jetbrains.annotations.NotNull;
 import org.spigotmc.event.player.PlayerSpawnLocationEvent;
 
+import java.util.EnumSet;
+
 /**
  * Evenements de Core.
  *
@@ -24,14 +28,50 @@ import org.spigotmc.event.player.PlayerSpawnLocationEvent;
  */
 public class EventListener implements Listener {
 
+    /**
+     * Enregistre les handlers de Core qui ne concernent que certaines phases du jeu.
+     * @param eventBus Bus d'évènements par phase
+     */
+    public void registerPhaseHandlers(GameEventBus eventBus) {
+        eventBus.register(this, PlayerMoveEvent.class, EnumSet.of(GameManager.GameStatus.STARTING),
+                GameEventBus.PlayerRole.PLAYING, this::onPlayingPlayerMoveWhileStarting);
+        eventBus.register(this, PlayerMoveEvent.class, EnumSet.of(GameManager.GameStatus.INGAME),
+                GameEventBus.PlayerRole.PLAYING, this::onPlayingPlayerMoveInGame);
+
+        EnumSet<GameManager.GameStatus> outOfGame = EnumSet.complementOf(EnumSet.of(GameManager.GameStatus.INGAME));
+        eventBus.register(this, EntityDamageEvent.class, outOfGame,
+                GameEventBus.PlayerRole.ANY, this::onEntityDamageOutOfGame);
+        eventBus.register(this, PlayerInteractEvent.class, outOfGame,
+                GameEventBus.PlayerRole.ANY, (event, player) -> event.setCancelled(true));
+        eventBus.register(this, PlayerDropItemEvent.class, outOfGame,
+                GameEventBus.PlayerRole.ANY, (event, player) -> event.setCancelled(true));
+        eventBus.register(this, FoodLevelChangeEvent.class, EnumSet.of(GameManager.GameStatus.WAITING),
+                GameEventBus.PlayerRole.ANY, (event, player) -> event.setCancelled(true));
+    }
+
     /**
      * Evenement de login d'un joueur.
      */
     @EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerLogin(PlayerLoginEvent event) {
+        if(Core.get().getGameManager().isDraining()
+                && Core.get().getGameManager().getStatus() == GameManager.GameStatus.WAITING) {
+            event.disallow(
+                    PlayerLoginEvent.Result.KICK_OTHER,
+                    Component.text("Ce serveur n'accepte plus de joueurs.")
+            );
+            return;
+        }
+
+        // Un joueur attendu par le proxy utilise sa place réservée.
+        SlotReservations reservations = Core.get().getPlayerManager().getSlotReservations();
+        if(reservations.consume(event.getPlayer().getUniqueId())) {
+            return;
+        }
+
         if(Core.get().getGameManager().getStatus() == GameManager.GameStatus.WAITING
                 && Core.get().getGameManager().getCurrentGame() != null
-                && Core.get().getPlayerManager().getNumberOfPlayingPlayers() >= Core.get().getGameManager().getCurrentGame().getMetadata().rules().maxPlayers()) {
+                && Core.get().getGameManager().getFreeSlots() == 0) {
             event.disallow(
                     PlayerLoginEvent.Result.KICK_OTHER,
                     Component.text("La partie est déjà pleine !")
@@ -94,31 +134,36 @@ public class EventListener implements Listener {
     }
 
     /**
-     * Evenement de deplacement d'un joueur.
+     * Evenement de deplacement d'un joueur jouant pendant le démarrage du jeu : le joueur est freeze.
      * @param event Evenement Bukkit
+     * @param player Joueur qui se déplace
      */
-    @EventHandler(priority = EventPriority.LOWEST)
-    public void onPlayerMove(PlayerMoveEvent event) {
-        if(
-                hasMovedInBlockXAndBlockZ(event)
-        ) {
-            LudosPlayer player = Core.get().getPlayerManager().getPlayer(event.getPlayer());
-            if(player.getTeam() != null && player.getTeam().isPlayingTeam()) {
-                if(Core.get().getGameManager().getStatus() == GameManager.GameStatus.STARTING) {
-                    event.setCancelled(true);
-                } else if(Core.get().getGameManager().getStatus() == GameManager.GameStatus.INGAME
-                        && !Core.get().getMapManager().getCurrentMap().isLocationWithinTheMapXandZ(event.getTo())) {
-                    event.setCancelled(true);
-                    ActionBarUtils.sendActionBar(player, "&cVous ne pouvez pas sortir de la map !");
-                }
-            }
+    private void onPlayingPlayerMoveWhileStarting(PlayerMoveEvent event, LudosPlayer player) {
+        if(hasMovedInBlockXAndBlockZ(event)) {
+            event.setCancelled(true);
         }
     }
 
-    @EventHandler(priority = EventPriority.LOWEST)
-    public void onEntityDamage(EntityDamageEvent event) {
-        if(event.getEntity() instanceof org.bukkit.entity.Player
-                && Core.get().getGameManager().getStatus() != GameManager.GameStatus.INGAME) {
+    /**
+     * Evenement de deplacement d'un joueur jouant en jeu : le joueur ne peut pas sortir de la carte.
+     * @param event Evenement Bukkit
+     * @param player Joueur qui se déplace
+     */
+    private void onPlayingPlayerMoveInGame(PlayerMoveEvent event, LudosPlayer player) {
+        if(hasMovedInBlockXAndBlockZ(event)
+                && !Core.get().getMapManager().getCurrentMap().isLocationWithinTheMapXandZ(event.getTo())) {
+            event.setCancelled(true);
+            ActionBarUtils.sendActionBar(player, "&cVous ne pouvez pas sortir de la map !");
+        }
+    }
+
+    /**
+     * Evenement de dégâts hors partie : les joueurs sont invulnérables, et renvoyés au lobby s'ils tombent dans le vide.
+     * @param event Evenement Bukkit
+     * @param player Joueur touché, null si l'entité n'est pas un joueur
+     */
+    private void onEntityDamageOutOfGame(EntityDamageEvent event, LudosPlayer player) {
+        if(event.getEntity() instanceof org.bukkit.entity.Player) {
             event.setCancelled(true);
             if(event.getCause() == EntityDamageEvent.DamageCause.VOID) {
                 event.getEntity().teleport(Core.get().getMapManager().getLobbyWorld().getSpawnLocation());
@@ -150,30 +195,8 @@ public class EventListener implements Listener {
         }
     }
 
-    @EventHandler(priority = EventPriority.LOWEST)
-    public void onPlayerInteractEvent(PlayerInteractEvent event) {
-        if(Core.get().getGameManager().getStatus() != GameManager.GameStatus.INGAME) {
-            event.setCancelled(true);
-        }
-    }
-
     @EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerPortalEvent(PlayerPortalEvent event) {
         event.setCancelled(true);
     }
-
-    @EventHandler(priority = EventPriority.LOWEST)
-    public void onFoodLevelChange(FoodLevelChangeEvent event) {
-        if(Core.get().getGameManager().getStatus() == GameManager.GameStatus.WAITING){
-            event.setCancelled(true);
-        }
-    }
-
-    @EventHandler(priority = EventPriority.LOWEST)
-    public void onPlayerDropItemEvent(PlayerDropItemEvent event) {
-        if(Core.get().getGameManager().getStatus() != GameManager.GameStatus.INGAME){
-            event.setCancelled(true);
-        }
-    }
-
 }
@@ -1,12 +1,15 @@
 package fr.efreicraft.ludos.core.commands;
 
 import fr.efreicraft.ludos.core.Core;
+import fr.efreicraft.ludos.core.maps.MapManager;
 import fr.efreicraft.ludos.core.maps.ParsedMap;
 import fr.efreicraft.ludos.core.maps.exceptions.MapLoadingException;
+import fr.efreicraft.ludos.core.maps.interfaces.MapTypes;
 import fr.efreicraft.ludos.core.maps.points.SpawnPoint;
 import fr.efreicraft.ludos.core.players.LudosPlayer;
 import fr.efreicraft.ludos.core.teams.Team;
 import fr.efreicraft.ludos.core.utils.MessageUtils;
+import fr.efreicraft.ludos.core.utils.WorldFilesUtils;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -37,7 +40,7 @@ public class MapCommand implements CommandExecutor, TabCompleter {
         LudosPlayer player = Core.get().getPlayerManager().getPlayer((org.bukkit.entity.Player) sender);
         
         if(args.length == 0) {
-            player.sendMessage(MessageUtils.ChatPrefix.ADMIN, "&cSyntaxe: /map <load | tp | metadata> <nomMap | equipe>");
+            player.sendMessage(MessageUtils.ChatPrefix.ADMIN, "&cSyntaxe: /map <load | tp | metadata | archive> <nomMap | equipe>");
             return false;
         }
 
@@ -58,6 +61,28 @@ public class MapCommand implements CommandExecutor, TabCompleter {
                 player.sendMessage(MessageUtils.ChatPrefix.MAP, "&cErreur: " + e.getMessage());
             }
             return true;
+        } else if(args[0].equalsIgnoreCase("archive")) {
+            if(args.length == 1) {
+                player.sendMessage(MessageUtils.ChatPrefix.ADMIN, "&cSyntaxe: /map archive <name>");
+                return false;
+            }
+            if(Core.get().getGameManager().getCurrentGame() == null) {
+                player.sendMessage(MessageUtils.ChatPrefix.ADMIN, "&cAucun jeu n'a été chargé.");
+                return false;
+            }
+            player.sendMessage(MessageUtils.ChatPrefix.MAP, "&7Compression de la map...");
+            try {
+                Core.get().getMapManager().archiveFolderMap(args[1]).whenCompleteAsync((v, throwable) -> {
+                    if (throwable != null) {
+                        player.sendMessage(MessageUtils.ChatPrefix.MAP, "&cErreur: " + MapManager.getLoadingErrorMessage(throwable));
+                    } else {
+                        player.sendMessage(MessageUtils.ChatPrefix.MAP, "&7Archive de la map créée.");
+                    }
+                }, WorldFilesUtils.MAIN_THREAD);
+            } catch (MapLoadingException e) {
+                player.sendMessage(MessageUtils.ChatPrefix.MAP, "&cErreur: " + e.getMessage());
+            }
+            return true;
         } else if(args[0].equalsIgnoreCase("tp")) {
             if(args.length == 1) {
                 player.sendMessage(MessageUtils.ChatPrefix.ADMIN, "&cSyntaxe: /map tp <equipe>");
@@ -142,7 +167,7 @@ public class MapCommand implements CommandExecutor, TabCompleter {
         } else {
             player.sendMessage(
                     MessageUtils.ChatPrefix.ADMIN,
-                    "&cSyntaxe: /map <load | tp | metadata> <name>"
+                    "&cSyntaxe: /map <load | tp | metadata | archive> <name>"
             );
             return false;
         }
@@ -156,13 +181,19 @@ public class MapCommand implements CommandExecutor, TabCompleter {
             @NotNull String[] args
     ) {
         if(args.length == 1) {
-            return Stream.of("load", "tp", "metadata").filter(com -> com.startsWith(args[0].toLowerCase())).toList();
+            return Stream.of("load", "tp", "metadata", "archive").filter(com -> com.startsWith(args[0].toLowerCase())).toList();
         } else if(args.length == 2) {
             if(Core.get().getGameManager().getCurrentGame() == null) {
                 return new ArrayList<>();
             }
             if(args[0].equalsIgnoreCase("load")) {
                 return Core.get().getGameManager().getCurrentGame().getMaps().stream().filter(map -> map.startsWith(args[1].toLowerCase())).toList();
+            } else if(args[0].equalsIgnoreCase("archive")) {
+                MapManager mapManager = Core.get().getMapManager();
+                return Core.get().getGameManager().getCurrentGame().getMaps().stream()
+                        .filter(map -> map.startsWith(args[1].toLowerCase()))
+                        .filter(map -> mapManager.getMapType(map) == MapTypes.FOLDER)
+                        .toList();
             } else if(args[0].equalsIgnoreCase("tp")) {
                 Map<String, Team> teams = Core.get().getTeamManager().getTeams();
                 return new ArrayList<>(teams.keySet().stream().filter(team -> team.startsWith(args[1].toLowerCase())).toList());
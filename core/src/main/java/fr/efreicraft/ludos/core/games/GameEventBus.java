@@ -0,0 +1,229 @@
+package fr.efreicraft.ludos.core.games;
+
+import fr.efreicraft.ludos.core.Core;
+import fr.efreicraft.ludos.core.games.interfaces.LudosEventHandler;
+import fr.efreicraft.ludos.core.players.LudosPlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.player.PlayerEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * <b>Bus d'évènements par phase de jeu</b><br />
+ * Les handlers sont enregistrés pour un ou plusieurs {@link GameManager.GameStatus} et pour un rôle de joueur
+ * (joueur d'une équipe jouante ou spectateur). Chaque type d'évènement n'est écouté qu'une fois auprès de Bukkit :
+ * l'évènement est dispatché avec le {@link LudosPlayer} déjà résolu, aux seuls handlers de la phase en cours.<br /><br />
+ * <p>
+ * Une table de handlers est précalculée pour chaque phase à chaque (dés)enregistrement, et
+ * {@link GameManager#setStatus(GameManager.GameStatus)} remplace la table active d'un coup. Les tables ne sont jamais
+ * modifiées une fois publiées : les évènements asynchrones peuvent les lire sans verrou.<br />
+ * Les évènements sont écoutés en priorité {@link EventPriority#LOWEST}, comme l'{@link fr.efreicraft.ludos.core.EventListener}
+ * de Core.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public class GameEventBus implements Listener {
+
+    /**
+     * Rôle du joueur pour lequel un handler est appelé.
+     */
+    public enum PlayerRole {
+        /**
+         * Handler appelé pour tout évènement, même sans joueur associé.
+         */
+        ANY,
+
+        /**
+         * Handler appelé seulement pour les joueurs d'une équipe jouante.
+         */
+        PLAYING,
+
+        /**
+         * Handler appelé seulement pour les joueurs d'une équipe non jouante.
+         */
+        SPECTATOR
+    }
+
+    /**
+     * Enregistrement d'un handler.
+     * @param owner    Propriétaire du handler, utilisé pour le désenregistrer
+     * @param type     Type d'évènement
+     * @param statuses Phases pendant lesquelles le handler est appelé
+     * @param role     Rôle du joueur pour lequel le handler est appelé
+     * @param handler  Handler
+     */
+    private record Registration(Object owner, Class<? extends Event> type, Set<GameManager.GameStatus> statuses,
+                                PlayerRole role, LudosEventHandler<? extends Event> handler) {
+    }
+
+    /**
+     * Handlers d'un type d'évènement pour une phase, rangés par rôle.
+     * @param any       Handlers {@link PlayerRole#ANY}
+     * @param playing   Handlers {@link PlayerRole#PLAYING}
+     * @param spectator Handlers {@link PlayerRole#SPECTATOR}
+     */
+    private record HandlerTable(List<LudosEventHandler<Event>> any,
+                                List<LudosEventHandler<Event>> playing,
+                                List<LudosEventHandler<Event>> spectator) {
+    }
+
+    private final List<Registration> registrations = new ArrayList<>();
+
+    /**
+     * Types d'évènements déjà écoutés auprès de Bukkit.
+     */
+    private final Set<Class<? extends Event>> hookedTypes = new HashSet<>();
+
+    /**
+     * Tables précalculées de chaque phase.
+     */
+    private Map<GameManager.GameStatus, Map<Class<? extends Event>, HandlerTable>> tables = new EnumMap<>(GameManager.GameStatus.class);
+
+    /**
+     * Table de la phase en cours.
+     */
+    private volatile Map<Class<? extends Event>, HandlerTable> activeTable = Collections.emptyMap();
+
+    /**
+     * Phase en cours.
+     */
+    private GameManager.GameStatus activeStatus;
+
+    /**
+     * Enregistre un handler pour certaines phases du jeu.
+     *
+     * @param owner    Propriétaire du handler (le jeu par exemple), utilisé par {@link #unregisterAll(Object)}
+     * @param type     Type d'évènement
+     * @param statuses Phases pendant lesquelles le handler est appelé
+     * @param role     Rôle du joueur pour lequel le handler est appelé
+     * @param handler  Handler
+     * @param <E>      Type d'évènement
+     */
+    public <E extends Event> void register(Object owner, Class<E> type, Set<GameManager.GameStatus> statuses,
+                                           PlayerRole role, LudosEventHandler<E> handler) {
+        registrations.add(new Registration(owner, type, Set.copyOf(statuses), role, handler));
+        if (hookedTypes.add(type)) {
+            Core.get().getServer().getPluginManager().registerEvent(
+                    type, this, EventPriority.LOWEST,
+                    (listener, event) -> dispatch(type, event),
+                    Core.get().getPlugin()
+            );
+        }
+        rebuildTables();
+    }
+
+    /**
+     * Désenregistre tous les handlers d'un propriétaire.
+     * @param owner Propriétaire des handlers
+     */
+    public void unregisterAll(Object owner) {
+        if (registrations.removeIf(registration -> registration.owner() == owner)) {
+            rebuildTables();
+        }
+    }
+
+    /**
+     * Active la table de handlers d'une phase. Appelé par {@link GameManager#setStatus(GameManager.GameStatus)}.
+     * @param status Nouvelle phase
+     */
+    void switchStatus(GameManager.GameStatus status) {
+        this.activeStatus = status;
+        this.activeTable = tables.getOrDefault(status, Collections.emptyMap());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuildTables() {
+        Map<GameManager.GameStatus, Map<Class<? extends Event>, List<List<LudosEventHandler<Event>>>>> builders =
+                new EnumMap<>(GameManager.GameStatus.class);
+        for (Registration registration : registrations) {
+            for (GameManager.GameStatus status : registration.statuses()) {
+                List<List<LudosEventHandler<Event>>> byRole = builders
+                        .computeIfAbsent(status, k -> new HashMap<>())
+                        .computeIfAbsent(registration.type(), k -> List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
+                byRole.get(registration.role().ordinal()).add((LudosEventHandler<Event>) registration.handler());
+            }
+        }
+
+        Map<GameManager.GameStatus, Map<Class<? extends Event>, HandlerTable>> newTables = new EnumMap<>(GameManager.GameStatus.class);
+        for (Map.Entry<GameManager.GameStatus, Map<Class<? extends Event>, List<List<LudosEventHandler<Event>>>>> statusEntry : builders.entrySet()) {
+            Map<Class<? extends Event>, HandlerTable> table = new HashMap<>();
+            for (Map.Entry<Class<? extends Event>, List<List<LudosEventHandler<Event>>>> typeEntry : statusEntry.getValue().entrySet()) {
+                List<List<LudosEventHandler<Event>>> byRole = typeEntry.getValue();
+                table.put(typeEntry.getKey(), new HandlerTable(
+                        List.copyOf(byRole.get(PlayerRole.ANY.ordinal())),
+                        List.copyOf(byRole.get(PlayerRole.PLAYING.ordinal())),
+                        List.copyOf(byRole.get(PlayerRole.SPECTATOR.ordinal()))
+                ));
+            }
+            newTables.put(statusEntry.getKey(), Collections.unmodifiableMap(table));
+        }
+        this.tables = newTables;
+        if (activeStatus != null) {
+            switchStatus(activeStatus);
+        }
+    }
+
+    /**
+     * Dispatch un évènement aux handlers de la phase en cours.
+     * @param type  Type d'évènement écouté
+     * @param event Évènement Bukkit
+     */
+    private void dispatch(Class<? extends Event> type, Event event) {
+        if (!type.isInstance(event)) {
+            return;
+        }
+        HandlerTable table = activeTable.get(type);
+        if (table == null) {
+            return;
+        }
+
+        LudosPlayer player = resolvePlayer(event);
+        call(table.any(), event, player);
+        if (player == null || player.getTeam() == null) {
+            return;
+        }
+        call(player.getTeam().isPlayingTeam() ? table.playing() : table.spectator(), event, player);
+    }
+
+    private void call(List<LudosEventHandler<Event>> handlers, Event event, LudosPlayer player) {
+        for (int i = 0; i < handlers.size(); i++) {
+            try {
+                handlers.get(i).handle(event, player);
+            } catch (Exception e) {
+                Core.get().getLogger().log(Level.SEVERE, "Error while handling " + event.getEventName(), e);
+            }
+        }
+    }
+
+    /**
+     * Récupère le joueur concerné par un évènement.
+     * @param event Évènement Bukkit
+     * @return Le joueur, ou null si l'évènement ne concerne pas un joueur.
+     */
+    private static LudosPlayer resolvePlayer(Event event) {
+        Player bukkitPlayer = null;
+        if (event instanceof PlayerEvent playerEvent) {
+            bukkitPlayer = playerEvent.getPlayer();
+        } else if (event instanceof EntityEvent entityEvent && entityEvent.getEntity() instanceof Player entity) {
+            bukkitPlayer = entity;
+        }
+        if (bukkitPlayer == null) {
+            return null;
+        }
+        return Core.get().getPlayerManager().getPlayer(bukkitPlayer);
+    }
+
+}
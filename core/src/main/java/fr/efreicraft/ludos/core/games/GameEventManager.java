@@ -19,24 +19,27 @@ public class GameEventManager {
     }
 
     /**
-     * Expected to be called on the {@link Game#startGame} lifecycle, this methods retrieve the game's event listener,
-     * and if set, registers it to the bukkit server.
+     * Expected to be called on the {@link Game#startGame} lifecycle, this methods registers the game's handlers on the
+     * {@link GameEventBus}, then retrieve the game's event listener, and if set, registers it to the bukkit server.
      */
     public void registerMinigameEvents() {
+        minigame.registerPhaseHandlers(Core.get().getGameManager().getEventBus());
         Listener eventListenerInstance = minigame.getEventListener();
         if (eventListenerInstance != null) {
             Core.get().getServer().getPluginManager()
                 .registerEvents(eventListenerInstance, Core.get().getPlugin());
         } else {
             String gameName = Core.get().getGameManager().getCurrentGame().getMetadata().name();
-            Core.get().getLogger().log(Level.WARNING, "[GameEventManager] {0} has no event listener set.", gameName);
+            Core.get().getLogger().log(Level.FINE, "[GameEventManager] {0} has no event listener set.", gameName);
         }
     }
 
     /**
-     * Unload the game's event listener from the bukkit server.
+     * Unload the game's event listener from the bukkit server, along with the handlers the game registered on the
+     * {@link GameEventBus}.
      */
     public void unregisterMinigameEvents() {
+        Core.get().getGameManager().getEventBus().unregisterAll(minigame);
         Listener eventListenerInstance = minigame.getEventListener();
         if (eventListenerInstance != null) {
             HandlerList.unregisterAll(eventListenerInstance);
@@ -7,7 +7,10 @@ import fr.efreicraft.ludos.core.games.exceptions.GameStatusException;
 import fr.efreicraft.ludos.core.games.interfaces.Game;
 import fr.efreicraft.ludos.core.games.interfaces.GamePlugin;
 import fr.efreicraft.ludos.core.games.runnables.LobbyCountdown;
+import fr.efreicraft.ludos.core.maps.ParsedMap;
 import fr.efreicraft.ludos.core.players.LudosPlayer;
+import fr.efreicraft.ludos.core.players.PlayerManager;
+import fr.efreicraft.ludos.core.utils.WorldUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.InvalidDescriptionException;
 import org.bukkit.plugin.InvalidPluginException;
@@ -70,8 +73,24 @@ public class GameManager implements IManager {
 
     private String defaultGamePluginName;
 
+    /**
+     * Jeu suivant, instancié pendant la fin de la partie en cours.
+     */
+    private Game nextGame;
+    private Plugin nextPlugin;
+
     private boolean autoGameStart = true;
 
+    /**
+     * Vrai si le serveur termine sa partie en cours puis refuse les connexions.
+     */
+    private boolean draining = false;
+
+    /**
+     * Bus d'évènements par phase de jeu.
+     */
+    private final GameEventBus eventBus = new GameEventBus();
+
     /**
      * Constructeur du gestionnaire de jeux. Il vérifie que la classe n'est pas déjà initialisée.
      */
@@ -163,6 +182,9 @@ public class GameManager implements IManager {
         if (status != GameStatus.WAITING) {
             throw new GameStatusException("Impossible de charger un jeu en cours de partie !");
         }
+        if (draining) {
+            throw new GameStatusException("Impossible de charger un jeu pendant le drainage du serveur !");
+        }
         GamePlugin gamePlugin = gamePlugins.get(gameName);
 
         if (gamePlugin == null) {
@@ -171,11 +193,14 @@ public class GameManager implements IManager {
 
         currentPlugin = gamePlugin;
 
-        try {
-            currentGame = gamePlugin.getGameClass().getConstructor().newInstance();
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            throw new GameRegisteringException("Impossible d'instancier le jeu " + gameName + " !");
+        // Le jeu a pu être instancié à l'avance pendant la fin de la partie précédente.
+        if (nextPlugin == gamePlugin && nextGame != null) {
+            currentGame = nextGame;
+        } else {
+            currentGame = instantiateGame(gamePlugin);
         }
+        nextGame = null;
+        nextPlugin = null;
 
         currentGame.prepareServer();
         if (lobbyCountdown != null) {
@@ -189,11 +214,15 @@ public class GameManager implements IManager {
 
     /**
      * Permet de modifier le jeu par défaut. Dans ce cas, à la fin d'une partie, ce jeu sera chargé.<br />
-     * Utilisé dans les communications Redis avec le proxy.
+     * Utilisé dans les communications Redis avec le proxy. Refusé pendant le drainage du serveur.
      *
      * @param defaultGamePluginName Nom du plugin du jeu.
      */
     public void changeDefaultGame(String defaultGamePluginName) {
+        if (draining) {
+            Core.get().getLogger().log(Level.WARNING, "Ignoring default game {0}: the server is draining.", defaultGamePluginName);
+            return;
+        }
         Core.get().getLogger().log(Level.INFO, "Changing default game to {0}...", defaultGamePluginName);
         this.defaultGamePluginName = defaultGamePluginName;
         Bukkit.getScheduler().runTask(Core.get().getPlugin(), () -> {
@@ -210,6 +239,55 @@ public class GameManager implements IManager {
         gamePlugins.put(gamePlugin.getName(), gamePlugin);
     }
 
+    /**
+     * Instancie le jeu d'un plugin.
+     *
+     * @param gamePlugin Plugin du jeu
+     * @return Nouvelle instance du jeu
+     * @throws GameRegisteringException Si le jeu ne peut pas être instancié
+     */
+    private Game instantiateGame(GamePlugin gamePlugin) throws GameRegisteringException {
+        try {
+            return gamePlugin.getGameClass().getConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new GameRegisteringException("Impossible d'instancier le jeu " + gamePlugin.getName() + " !");
+        }
+    }
+
+    /**
+     * Prépare la partie suivante pendant la fin de la partie en cours : le jeu par défaut est instancié. Les cartes
+     * ne sont pas préparées ici, pour ne pas ralentir l'effet de victoire : le pool reprend au retour en attente.
+     */
+    private void prepareNextRound() {
+        if (defaultGamePluginName == null || !autoGameStart || draining) {
+            return;
+        }
+        GamePlugin gamePlugin = gamePlugins.get(defaultGamePluginName);
+        if (gamePlugin == null) {
+            return;
+        }
+        try {
+            nextGame = instantiateGame(gamePlugin);
+            nextPlugin = gamePlugin;
+        } catch (GameRegisteringException e) {
+            Core.get().getLogger().log(Level.WARNING, e.getMessage());
+        }
+    }
+
+    /**
+     * Termine la partie en cours après l'effet de victoire. Les joueurs sont renvoyés dans la salle d'attente et la
+     * partie suivante est chargée. Les préparations du pool reprennent au tick suivant, et le monde de la carte
+     * terminée n'est déchargé qu'au tick d'après, pour ne pas cumuler ces étapes sur un même tick.
+     */
+    public void finishRound() {
+        ParsedMap finishedMap = Core.get().getMapManager().detachCurrentMap();
+        Core.get().getTeamManager().unloadTeams();
+        setStatus(GameStatus.WAITING);
+        if (finishedMap != null) {
+            Bukkit.getScheduler().runTaskLater(Core.get().getPlugin(), () -> WorldUtils.deleteWorld(finishedMap.getWorld()), 2);
+        }
+    }
+
     /**
      * Désenregistre le jeu chargé.
      */
@@ -227,13 +305,46 @@ public class GameManager implements IManager {
     }
 
     /**
-     * Réinitialise le serveur de jeu. Décharge la carte, les équipes, change le status
+     * Met le serveur en drainage : la partie en cours se termine normalement, puis aucun jeu n'est rechargé et les
+     * connexions sont refusées. Si aucune partie n'est en cours, le jeu chargé est déchargé immédiatement.<br />
+     * Le drainage prend fin avec {@link #resetServer()}.
+     */
+    public void drain() {
+        draining = true;
+        // Le jeu suivant a pu être instancié si la partie est déjà en train de se terminer.
+        nextGame = null;
+        nextPlugin = null;
+        Core.get().getPlayerManager().getSlotReservations().clear();
+        Core.get().getMapManager().getMapPool().clear();
+        if (status == GameStatus.WAITING) {
+            unregisterCurrentGame();
+            Core.get().getMapManager().unloadMap();
+            Core.get().getTeamManager().unloadTeams();
+            GameServerDispatcher.updateStatus();
+        }
+    }
+
+    /**
+     * Vérifie si le serveur est en drainage
+     *
+     * @return Vrai si le serveur termine sa partie puis refuse les connexions
+     */
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * Réinitialise le serveur de jeu. Décharge la carte, les équipes, change le status et met fin au drainage
      */
     public void resetServer() {
         Bukkit.getScheduler().runTask(Core.get().getPlugin(), () -> {
+            draining = false;
             Core.get().getMapManager().unloadMap();
+            Core.get().getMapManager().getMapPool().clear();
             Core.get().getTeamManager().unloadTeams();
-            this.defaultGamePluginName = null;
+            defaultGamePluginName = null;
+            nextGame = null;
+            nextPlugin = null;
             Core.get().getGameManager().setStatus(GameManager.GameStatus.WAITING);
         });
     }
@@ -283,6 +394,29 @@ public class GameManager implements IManager {
         return status;
     }
 
+    /**
+     * Récupère le nombre de places libres dans la partie. Les places réservées par le proxy comptent comme occupées.
+     *
+     * @return Places libres, ou 0 si aucun jeu n'est chargé
+     */
+    public int getFreeSlots() {
+        if (currentGame == null) {
+            return 0;
+        }
+        PlayerManager playerManager = Core.get().getPlayerManager();
+        int takenSlots = playerManager.getNumberOfPlayingPlayers() + playerManager.getSlotReservations().count();
+        return Math.max(0, currentGame.getMetadata().rules().maxPlayers() - takenSlots);
+    }
+
+    /**
+     * Récupère le bus d'évènements par phase de jeu
+     *
+     * @return Bus d'évènements
+     */
+    public GameEventBus getEventBus() {
+        return eventBus;
+    }
+
     /**
      * Auto Start des jeux
      *
@@ -349,6 +483,7 @@ public class GameManager implements IManager {
      */
     public void setStatus(GameStatus status) {
         this.status = status;
+        eventBus.switchStatus(status);
         GameServerDispatcher.updateStatus();
 
         for (LudosPlayer player : Core.get().getPlayerManager().getPlayers()) {
@@ -360,12 +495,21 @@ public class GameManager implements IManager {
             case INGAME -> {
                 if (!currentGame.checkIfGameHasToBeEnded()) {
                     currentGame.beginGame();
+                    int samplingPeriod = currentGame.getMetadata().rules().positionSamplingPeriod();
+                    if (samplingPeriod > 0) {
+                        Core.get().getMapManager().getRegionTriggers().startSampling(samplingPeriod);
+                    }
+                    Core.get().getMapManager().getMapPool().fill();
                 }
             }
-            case ENDING -> currentGame.endGame();
+            case ENDING -> {
+                currentGame.endGame();
+                prepareNextRound();
+            }
             case WAITING -> {
+                Bukkit.getScheduler().runTask(Core.get().getPlugin(), Core.get().getMapManager().getMapPool()::resumeDeferred);
                 this.unregisterCurrentGame();
-                if (defaultGamePluginName != null && autoGameStart) {
+                if (defaultGamePluginName != null && autoGameStart && !draining) {
                     try {
                         this.loadGame(defaultGamePluginName);
                     } catch (GameStatusException e) {
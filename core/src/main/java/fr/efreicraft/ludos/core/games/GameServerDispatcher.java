@@ -1,20 +1,81 @@
 package fr.efreicraft.ludos.core.games;
 
 import fr.efreicraft.animus.endpoints.ServerService;
-import fr.efreicraft.animus.invoker.ApiException;
 import fr.efreicraft.ludos.core.Core;
-import org.bukkit.Bukkit;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
 
 /**
- * Classe utilitaire pour les transmissions serveur de jeu -> proxy.
+ * Classe utilitaire pour les transmissions serveur de jeu -> proxy.<br /><br />
+ * <p>
+ * Le statut est capturé sur le thread appelant puis envoyé par un unique thread dédié. Seul le dernier statut
+ * compte : si plusieurs changements arrivent pendant un envoi, seul le plus récent est envoyé ensuite. Les envois
+ * sont espacés d'au moins {@value #MIN_INTERVAL_MS} ms et, si l'API ne répond pas, réessayés avec un délai qui
+ * double jusqu'à {@value #MAX_BACKOFF_MS} ms. Une API instable ne crée donc jamais plus d'un thread.
  *
  * @author Antoine B. {@literal <antoine@jiveoff.fr>}
  */
 public class GameServerDispatcher {
 
+    /**
+     * Délai minimal entre deux envois, en millisecondes.
+     */
+    private static final long MIN_INTERVAL_MS = 250;
+
+    /**
+     * Délai avant le premier nouvel essai après un échec, en millisecondes.
+     */
+    private static final long INITIAL_BACKOFF_MS = 1000;
+
+    /**
+     * Délai maximal entre deux essais, en millisecondes.
+     */
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    /**
+     * Statut du serveur envoyé à l'API.
+     * @param gameName        Nom du plugin du jeu chargé, ou null
+     * @param defaultGameName Nom du plugin du jeu par défaut, ou null
+     * @param status          Status de la partie
+     */
+    public record ServerStatus(String gameName, String defaultGameName, String status) {
+    }
+
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Ludos-StatusDispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Dernier statut demandé et pas encore envoyé.
+     */
+    private static final AtomicReference<ServerStatus> pending = new AtomicReference<>();
+
+    /**
+     * Vrai si un envoi est en cours ou planifié.
+     */
+    private static final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    /**
+     * Dernier statut confirmé par l'API.
+     */
+    private static volatile ServerStatus lastAcknowledged;
+
+    /**
+     * Nom d'hôte de la machine, résolu une seule fois.
+     */
+    private static String hostName;
+
+    private static long backoff = INITIAL_BACKOFF_MS;
+
     private GameServerDispatcher() {
         throw new IllegalStateException("Utility class");
     }
@@ -23,21 +84,72 @@ public class GameServerDispatcher {
      * Mets à jour le statut du serveur sur l'API.
      */
     public static void updateStatus() {
-        Bukkit.getScheduler().runTaskAsynchronously(Core.get().getPlugin(), () -> {
+        GameManager gameManager = Core.get().getGameManager();
+        submit(new ServerStatus(
+                gameManager.getCurrentGame() == null ? null : gameManager.getCurrentPlugin().getName(),
+                gameManager.getDefaultGamePluginName(),
+                gameManager.getStatus().name()
+        ));
+    }
+
+    /**
+     * Met un statut en attente d'envoi, en remplaçant celui qui n'a pas encore été envoyé.
+     * @param status Statut à envoyer
+     */
+    private static void submit(ServerStatus status) {
+        pending.set(status);
+        if (scheduled.compareAndSet(false, true)) {
+            EXECUTOR.execute(GameServerDispatcher::drain);
+        }
+    }
+
+    /**
+     * Récupère le dernier statut confirmé par l'API.
+     * @return Dernier statut confirmé, ou null si aucun envoi n'a encore réussi.
+     */
+    public static ServerStatus getLastAcknowledgedStatus() {
+        return lastAcknowledged;
+    }
+
+    /**
+     * Envoie le statut en attente. Tourne uniquement sur le thread du dispatcher.
+     */
+    private static void drain() {
+        ServerStatus status = pending.getAndSet(null);
+        if (status == null) {
+            scheduled.set(false);
+            // Un statut a pu arriver entre la lecture et la libération.
+            if (pending.get() != null && scheduled.compareAndSet(false, true)) {
+                EXECUTOR.execute(GameServerDispatcher::drain);
+            }
+            return;
+        }
+
+        if (!status.equals(lastAcknowledged)) {
             try {
-                String gameName = Core.get().getGameManager().getCurrentGame() == null
-                        ? null
-                        : Core.get().getGameManager().getCurrentPlugin().getName();
-                ServerService.setGameServerStatus(
-                        InetAddress.getLocalHost().getHostName(),
-                        gameName,
-                        Core.get().getGameManager().getDefaultGamePluginName(),
-                        Core.get().getGameManager().getStatus().name()
-                );
-            } catch (UnknownHostException | ApiException e) {
-                throw new RuntimeException(e);
+                ServerService.setGameServerStatus(getHostName(), status.gameName(), status.defaultGameName(), status.status());
+                lastAcknowledged = status;
+                backoff = INITIAL_BACKOFF_MS;
+            } catch (Exception e) {
+                // Toute erreur du client (réseau, JSON...) passe par le même délai : le dispatcher ne doit jamais s'arrêter.
+                Core.get().getLogger().log(Level.WARNING, "Unable to send server status, retrying in {0} ms: {1}",
+                        new Object[]{backoff, e.getMessage()});
+                // Un statut plus récent, s'il y en a un, remplace celui qui a échoué.
+                pending.compareAndSet(null, status);
+                EXECUTOR.schedule(GameServerDispatcher::drain, backoff, TimeUnit.MILLISECONDS);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+                return;
             }
-        });
+        }
+
+        EXECUTOR.schedule(GameServerDispatcher::drain, MIN_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static String getHostName() throws UnknownHostException {
+        if (hostName == null) {
+            hostName = InetAddress.getLocalHost().getHostName();
+        }
+        return hostName;
     }
 
 }
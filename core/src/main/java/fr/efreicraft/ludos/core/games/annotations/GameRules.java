@@ -53,4 +53,13 @@ public @interface GameRules {
      */
     int respawnTimer() default 5;
 
+    /**
+     * Période d'échantillonnage des positions des joueurs pour les régions de la carte
+     * (voir {@link fr.efreicraft.ludos.core.maps.RegionTriggerService}).<br />
+     * À 0, les régions sont vérifiées à chaque déplacement d'un joueur. Au-delà, les positions de tous les joueurs
+     * sont lues une fois toutes les N ticks.
+     * @return Période en ticks.
+     */
+    int positionSamplingPeriod() default 0;
+
 }
@@ -60,7 +60,14 @@ public abstract class Game implements IGame {
         Core.get().getTeamManager().dispatchAllPlayersInTeams();
 
         if(!maps.isEmpty()) {
-            String map = maps.get(random.nextInt(maps.size()));
+            // On privilégie une carte déjà préparée par le pool pendant la partie précédente, ou encore en préparation.
+            String map = Core.get().getMapManager().getMapPool().getReadyMapName(metadata.name());
+            if (map == null) {
+                map = Core.get().getMapManager().getMapPool().getPreparingMapName(metadata.name());
+            }
+            if (map == null || !maps.contains(map)) {
+                map = maps.get(random.nextInt(maps.size()));
+            }
             try {
                 Core.get().getMapManager().loadMap(map);
             } catch (MapLoadingException e) {
@@ -179,11 +186,9 @@ public abstract class Game implements IGame {
         }
 
         eventManager.unregisterMinigameEvents();
-        Bukkit.getScheduler().runTaskLater(Core.get().getPlugin(), () -> {
-            Core.get().getMapManager().unloadMap();
-            Core.get().getTeamManager().unloadTeams();
-            Core.get().getGameManager().setStatus(GameManager.GameStatus.WAITING);
-        }, (long) 20 * secondsDelay);
+        Bukkit.getScheduler().runTaskLater(Core.get().getPlugin(),
+                () -> Core.get().getGameManager().finishRound(),
+                (long) 20 * secondsDelay);
     }
 
     /**
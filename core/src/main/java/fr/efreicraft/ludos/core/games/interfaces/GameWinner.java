@@ -1,6 +1,7 @@
 package fr.efreicraft.ludos.core.games.interfaces;
 
 import fr.efreicraft.ludos.core.Core;
+import fr.efreicraft.ludos.core.maps.MapBounds;
 import fr.efreicraft.ludos.core.maps.ParsedMap;
 import fr.efreicraft.ludos.core.players.LudosPlayer;
 import fr.efreicraft.ludos.core.utils.MessageUtils;
@@ -84,23 +85,21 @@ public interface GameWinner {
     }
 
     private void launchWinEffects(Color color) {
-        int yToUse;
-        Location firstBoundary = Core.get().getMapManager().getCurrentMap().getGlobalPoints().get("BOUNDARY").get(0).getLocation();
-        Location secondBoundary = Core.get().getMapManager().getCurrentMap().getGlobalPoints().get("BOUNDARY").get(1).getLocation();
-        yToUse = Math.max(firstBoundary.getBlockY(), secondBoundary.getBlockY());
+        MapBounds bounds = Core.get().getMapManager().getCurrentMap().getBounds();
+        int yToUse = (int) bounds.maxY();
 
         Location pos1ForFireworks = new Location(
                 Core.get().getMapManager().getCurrentMap().getWorld(),
-                Math.min(firstBoundary.getBlockX(), secondBoundary.getBlockX()),
+                (int) bounds.minX(),
                 yToUse,
-                Math.min(firstBoundary.getBlockZ(), secondBoundary.getBlockZ())
+                (int) bounds.minZ()
         );
 
         Location pos2ForFireworks = new Location(
                 Core.get().getMapManager().getCurrentMap().getWorld(),
-                Math.max(firstBoundary.getBlockX(), secondBoundary.getBlockX()),
+                (int) bounds.maxX(),
                 yToUse,
-                Math.max(firstBoundary.getBlockZ(), secondBoundary.getBlockZ())
+                (int) bounds.maxZ()
         );
 
         WinEffectUtils.launchFireworks(
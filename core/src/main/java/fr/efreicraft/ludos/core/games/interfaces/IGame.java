@@ -1,5 +1,6 @@
 package fr.efreicraft.ludos.core.games.interfaces;
 
+import fr.efreicraft.ludos.core.games.GameEventBus;
 import fr.efreicraft.ludos.core.maps.points.GamePoint;
 import fr.efreicraft.ludos.core.players.LudosPlayer;
 import fr.efreicraft.ludos.core.teams.TeamRecord;
@@ -61,4 +62,13 @@ public interface IGame {
      * @see Game#setEventListener(Listener) setter that may be used to avoid implementing this method
      */
     Listener getEventListener();
+
+    /**
+     * Méthode appelée au début du jeu pour enregistrer ses handlers sur le bus d'évènements par phase, au lieu de
+     * vérifier le status et l'équipe du joueur dans un {@link Listener}. Les handlers doivent avoir le jeu pour
+     * propriétaire : ils sont retirés à la fin du jeu.
+     * @param eventBus Bus d'évènements par phase.
+     */
+    default void registerPhaseHandlers(GameEventBus eventBus) {
+    }
 }
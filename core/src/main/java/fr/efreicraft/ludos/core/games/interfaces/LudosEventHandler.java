@@ -0,0 +1,24 @@
+package fr.efreicraft.ludos.core.games.interfaces;
+
+import fr.efreicraft.ludos.core.players.LudosPlayer;
+import org.bukkit.event.Event;
+
+/**
+ * Handler d'un évènement Bukkit enregistré dans le {@link fr.efreicraft.ludos.core.games.GameEventBus}.
+ *
+ * @param <E> Type de l'évènement
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+@FunctionalInterface
+public interface LudosEventHandler<E extends Event> {
+
+    /**
+     * Traite un évènement.
+     * @param event  Évènement Bukkit
+     * @param player Joueur concerné par l'évènement, déjà résolu. Peut être null pour les handlers
+     *               enregistrés avec {@link fr.efreicraft.ludos.core.games.GameEventBus.PlayerRole#ANY}.
+     */
+    void handle(E event, LudosPlayer player);
+
+}
@@ -0,0 +1,94 @@
+package fr.efreicraft.ludos.core.games.runnables;
+
+import fr.efreicraft.ludos.core.Core;
+import fr.efreicraft.ludos.core.games.GameManager;
+import fr.efreicraft.ludos.core.maps.RegionTriggerService;
+import fr.efreicraft.ludos.core.players.LudosPlayer;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.Set;
+
+/**
+ * Échantillonneur des positions des joueurs jouants, utilisé à la place des évènements de déplacement
+ * par le {@link RegionTriggerService}.<br /><br />
+ * <p>
+ * Toutes les N ticks, les positions de tous les joueurs sont copiées dans un tableau de doubles, puis les régions
+ * sont vérifiées sur ce tableau en une passe. Le tableau des joueurs n'est reconstruit que quand les équipes changent.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public class PositionSampler extends BukkitRunnable {
+
+    private final RegionTriggerService regionTriggers;
+
+    /**
+     * Location réutilisée pour lire la position des joueurs sans allocation.
+     */
+    private final Location reusableLocation = new Location(null, 0, 0, 0);
+
+    /**
+     * Set des joueurs jouants à partir duquel {@link #players} a été construit.
+     */
+    private Set<LudosPlayer> sampledPlayers;
+
+    private LudosPlayer[] players = new LudosPlayer[0];
+
+    /**
+     * Positions des joueurs : x, y, z pour chaque joueur de {@link #players}.
+     */
+    private double[] positions = new double[0];
+
+    /**
+     * Constructeur de l'échantillonneur.
+     * @param regionTriggers Service de déclencheurs de régions à alimenter.
+     * @param period Période d'échantillonnage (en ticks).
+     */
+    public PositionSampler(RegionTriggerService regionTriggers, int period) {
+        this.regionTriggers = regionTriggers;
+        this.runTaskTimer(Core.get().getPlugin(), period, period);
+    }
+
+    @Override
+    public void run() {
+        if(Core.get().getGameManager().getStatus() != GameManager.GameStatus.INGAME) {
+            this.cancel();
+            return;
+        }
+        if(regionTriggers.isEmpty()) {
+            return;
+        }
+
+        // Le set des joueurs jouants est une copie immuable, recréée seulement quand un joueur change d'équipe.
+        Set<LudosPlayer> playingPlayers = Core.get().getPlayerManager().getPlayingPlayers();
+        if(playingPlayers != sampledPlayers) {
+            sampledPlayers = playingPlayers;
+            players = playingPlayers.toArray(new LudosPlayer[0]);
+            if(positions.length < players.length * 3) {
+                positions = new double[players.length * 3];
+            }
+        }
+
+        int count = players.length;
+        for (int i = 0; i < count; i++) {
+            Player entity = players[i].entity();
+            if(entity == null || !entity.isOnline() || entity.isDead()) {
+                positions[i * 3 + 1] = Double.NaN;
+                continue;
+            }
+            entity.getLocation(reusableLocation);
+            positions[i * 3] = reusableLocation.getX();
+            positions[i * 3 + 1] = reusableLocation.getY();
+            positions[i * 3 + 2] = reusableLocation.getZ();
+        }
+
+        for (int i = 0; i < count; i++) {
+            if(!Double.isNaN(positions[i * 3 + 1])) {
+                regionTriggers.update(players[i], positions[i * 3], positions[i * 3 + 1], positions[i * 3 + 2]);
+            }
+        }
+    }
+
+}
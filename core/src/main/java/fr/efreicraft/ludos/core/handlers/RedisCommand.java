@@ -0,0 +1,121 @@
+package fr.efreicraft.ludos.core.handlers;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Commande reçue du proxy par Redis.<br /><br />
+ * <p>
+ * Format : {@code [v<version>] <commande> <arguments...>}. Sans version, la commande est en version 1, celle des
+ * anciens messages {@code changeRequestedGame} et {@code resetServer}.
+ *
+ * @param version Version du protocole
+ * @param type    Type de commande
+ * @param args    Arguments de la commande
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public record RedisCommand(int version, Type type, List<String> args) {
+
+    /**
+     * Version la plus récente du protocole comprise par le serveur.
+     */
+    public static final int PROTOCOL_VERSION = 1;
+
+    /**
+     * Types de commandes et leur nombre minimal d'arguments.
+     */
+    public enum Type {
+        /**
+         * {@code changeRequestedGame <jeu>} : change le jeu par défaut.
+         */
+        CHANGE_REQUESTED_GAME("changeRequestedGame", 1),
+
+        /**
+         * {@code resetServer} : réinitialise le serveur.
+         */
+        RESET_SERVER("resetServer", 0),
+
+        /**
+         * {@code prewarm <jeu> <carte>} : prépare une carte sans changer de partie.
+         */
+        PREWARM("prewarm", 2),
+
+        /**
+         * {@code reserve <uuid...>} : réserve des places pour des joueurs attendus.
+         */
+        RESERVE("reserve", 1),
+
+        /**
+         * {@code drain} : termine la partie en cours puis refuse les connexions, jusqu'au prochain {@code resetServer}.
+         */
+        DRAIN("drain", 0);
+
+        private final String name;
+        private final int minArgs;
+
+        Type(String name, int minArgs) {
+            this.name = name;
+            this.minArgs = minArgs;
+        }
+
+        /**
+         * Récupère le type d'une commande par son nom.
+         * @param name Nom de la commande
+         * @return Type de la commande, ou null si elle est inconnue.
+         */
+        public static Type fromName(String name) {
+            for (Type type : values()) {
+                if (type.name.equals(name)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Récupère le nom de la commande dans les messages Redis.
+         * @return Nom de la commande
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Lit une commande à partir des mots d'un message Redis.
+     * @param words Mots du message
+     * @return Commande lue
+     * @throws IllegalArgumentException Si le message est vide, d'une version inconnue, ou si la commande est inconnue
+     * ou incomplète.
+     */
+    public static RedisCommand parse(String... words) {
+        if (words == null || words.length == 0) {
+            throw new IllegalArgumentException("Empty message");
+        }
+
+        int version = 1;
+        int offset = 0;
+        if (words[0].matches("v\\d+")) {
+            version = Integer.parseInt(words[0].substring(1));
+            offset = 1;
+        }
+        if (version < 1 || version > PROTOCOL_VERSION) {
+            throw new IllegalArgumentException("Unsupported protocol version " + version);
+        }
+        if (words.length <= offset) {
+            throw new IllegalArgumentException("Missing command");
+        }
+
+        Type type = Type.fromName(words[offset]);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown command " + words[offset]);
+        }
+        List<String> args = Arrays.asList(words).subList(offset + 1, words.length);
+        if (args.size() < type.minArgs) {
+            throw new IllegalArgumentException("Command " + type.name + " expects at least " + type.minArgs + " argument(s)");
+        }
+        return new RedisCommand(version, type, List.copyOf(args));
+    }
+
+}
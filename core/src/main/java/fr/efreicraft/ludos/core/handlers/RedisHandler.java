@@ -2,19 +2,109 @@ package fr.efreicraft.ludos.core.handlers;
 
 import fr.efreicraft.animus.IRedisMessageHandler;
 import fr.efreicraft.ludos.core.Core;
+import fr.efreicraft.ludos.core.games.GameManager;
+import org.bukkit.Bukkit;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Handler des commandes envoyées par le proxy sur Redis.<br /><br />
+ * <p>
+ * Les messages sont lus en {@link RedisCommand} et traités par un unique thread, hors du thread Redis, avec une
+ * file bornée à {@value #QUEUE_CAPACITY} commandes : au-delà, les commandes sont ignorées. Seuls les changements
+ * d'état du serveur sont faits sur le thread principal.
+ */
 public class RedisHandler implements IRedisMessageHandler {
 
+    /**
+     * Nombre maximal de commandes en attente de traitement.
+     */
+    private static final int QUEUE_CAPACITY = 64;
+
+    private final ExecutorService executor = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "Ludos-RedisCommands");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, pool) -> Core.get().getLogger().log(Level.WARNING, "Redis command queue is full, dropping command.")
+    );
+
     @Override
     public void run(String... args) {
-        System.out.println("Received Redis message: " + args[0]);
-        switch (args[0]) {
-            case "changeRequestedGame":
-                Core.get().getGameManager().changeDefaultGame(args[1]);
-                break;
-            case "resetServer":
-                Core.get().getGameManager().resetServer();
-                break;
+        executor.execute(() -> handle(args));
+    }
+
+    /**
+     * Lit et exécute une commande. Tourne sur le thread des commandes.
+     * @param words Mots du message Redis
+     */
+    private void handle(String... words) {
+        RedisCommand command;
+        try {
+            command = RedisCommand.parse(words);
+        } catch (IllegalArgumentException e) {
+            Core.get().getLogger().log(Level.WARNING, "Ignoring Redis message {0}: {1}",
+                    new Object[]{Arrays.toString(words), e.getMessage()});
+            return;
+        }
+        Core.get().getLogger().log(Level.INFO, "Received Redis command {0} {1}",
+                new Object[]{command.type().getName(), command.args()});
+
+        GameManager gameManager = Core.get().getGameManager();
+        switch (command.type()) {
+            case CHANGE_REQUESTED_GAME -> onMainThread(() -> gameManager.changeDefaultGame(command.args().get(0)));
+            case RESET_SERVER -> gameManager.resetServer();
+            case PREWARM -> onMainThread(() -> prewarm(command.args().get(0), command.args().get(1)));
+            case RESERVE -> {
+                List<UUID> uuids = parseUuids(command.args());
+                onMainThread(() -> Core.get().getPlayerManager().getSlotReservations().reserve(uuids));
+            }
+            case DRAIN -> onMainThread(gameManager::drain);
         }
     }
+
+    /**
+     * Prépare une carte du jeu chargé sans changer de partie.
+     * @param gameName Nom du plugin du jeu
+     * @param mapName  Nom de la carte
+     */
+    private static void prewarm(String gameName, String mapName) {
+        GameManager gameManager = Core.get().getGameManager();
+        // Les cartes sont préparées par le pool du jeu chargé : un autre jeu n'a pas encore ses cartes répertoriées.
+        if (gameManager.getCurrentPlugin() == null || !gameManager.getCurrentPlugin().getName().equals(gameName)) {
+            Core.get().getLogger().log(Level.WARNING, "Cannot prewarm map {0}: game {1} is not loaded.", new Object[]{mapName, gameName});
+            return;
+        }
+        if (!Core.get().getMapManager().getMapPool().prewarm(mapName)) {
+            Core.get().getLogger().log(Level.WARNING, "Cannot prewarm map {0}: unknown map or map pool busy.", mapName);
+        }
+    }
+
+    private static List<UUID> parseUuids(List<String> args) {
+        List<UUID> uuids = new ArrayList<>(args.size());
+        for (String arg : args) {
+            try {
+                uuids.add(UUID.fromString(arg));
+            } catch (IllegalArgumentException e) {
+                Core.get().getLogger().log(Level.WARNING, "Ignoring invalid UUID {0} in reserve command.", arg);
+            }
+        }
+        return uuids;
+    }
+
+    private static void onMainThread(Runnable runnable) {
+        Bukkit.getScheduler().runTask(Core.get().getPlugin(), runnable);
+    }
+
 }
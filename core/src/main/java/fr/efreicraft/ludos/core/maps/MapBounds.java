@@ -0,0 +1,59 @@
+package fr.efreicraft.ludos.core.maps;
+
+import org.bukkit.Location;
+
+/**
+ * Limites d'une carte, calculées une seule fois à partir de ses deux points BOUNDARY.<br />
+ * Les vérifications ne font que des comparaisons de primitives : elles peuvent être appelées à chaque mouvement de
+ * joueur sans allocation.
+ *
+ * @param minX           X minimal de la carte
+ * @param maxX           X maximal de la carte
+ * @param minY           Y minimal de la carte
+ * @param maxY           Y maximal de la carte
+ * @param minZ           Z minimal de la carte
+ * @param maxZ           Z maximal de la carte
+ * @param lowestBoundary Point BOUNDARY le plus bas
+ * @param middle         Milieu des deux points BOUNDARY
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public record MapBounds(double minX, double maxX,
+                        double minY, double maxY,
+                        double minZ, double maxZ,
+                        Location lowestBoundary, Location middle) {
+
+    /**
+     * Calcule les limites d'une carte à partir de ses deux points BOUNDARY.
+     * @param first  Premier point BOUNDARY
+     * @param second Second point BOUNDARY
+     * @return Limites de la carte
+     */
+    public static MapBounds of(Location first, Location second) {
+        return new MapBounds(
+                Math.min(first.getX(), second.getX()), Math.max(first.getX(), second.getX()),
+                Math.min(first.getY(), second.getY()), Math.max(first.getY(), second.getY()),
+                Math.min(first.getZ(), second.getZ()), Math.max(first.getZ(), second.getZ()),
+                first.getY() < second.getY() ? first : second,
+                new Location(
+                        first.getWorld(),
+                        (first.getX() + second.getX()) / 2,
+                        (first.getY() + second.getY()) / 2,
+                        (first.getZ() + second.getZ()) / 2
+                )
+        );
+    }
+
+    /**
+     * Vérifie si une position est dans la carte sur les axes X et Z.
+     * @param x      Coordonnée X
+     * @param z      Coordonnée Z
+     * @param margin Marge autorisée autour de la carte, en blocs
+     * @return Vrai si la position est dans la carte.
+     */
+    public boolean containsXZ(double x, double z, double margin) {
+        return x >= minX - margin && x <= maxX + margin
+                && z >= minZ - margin && z <= maxZ + margin;
+    }
+
+}
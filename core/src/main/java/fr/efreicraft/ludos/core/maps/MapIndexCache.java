@@ -0,0 +1,264 @@
+package fr.efreicraft.ludos.core.maps;
+
+import fr.efreicraft.ludos.core.Core;
+import fr.efreicraft.ludos.core.games.interfaces.Game;
+import fr.efreicraft.ludos.core.maps.interfaces.MapPoint;
+import fr.efreicraft.ludos.core.maps.points.GamePoint;
+import fr.efreicraft.ludos.core.maps.points.GlobalPoint;
+import fr.efreicraft.ludos.core.maps.points.SpawnPoint;
+import fr.efreicraft.ludos.core.teams.Team;
+import org.bukkit.DyeColor;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+
+/**
+ * <b>Index persistant des points d'une carte</b><br />
+ * Le parsing complet d'une carte ({@link MapParser#parseMap}) parcourt tous les blocs des chunks compris entre les
+ * BOUNDARY, alors que son résultat ne dépend que de la source de la carte et du jeu chargé.<br /><br />
+ * <p>
+ * On enregistre donc ce résultat (nom, auteur, points et blocs marqueurs) dans un fichier binaire à côté de la carte,
+ * {@code game_maps/<Jeu>/<carte>.ludosindex}, associé à une empreinte SHA-256 du manifeste de la source (chemin,
+ * taille et date de modification de chaque fichier). Tant que l'empreinte ne change pas, la {@link ParsedMap} est
+ * reconstruite directement depuis ce fichier.<br />
+ * Le contenu des fichiers n'est jamais lu : l'empreinte ne coûte que quelques appels système, même pour un gros
+ * monde, et peut être calculée sur le thread principal.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public class MapIndexCache {
+
+    /**
+     * Extension des fichiers d'index.
+     */
+    public static final String INDEX_EXTENSION = ".ludosindex";
+
+    /**
+     * Signature des fichiers d'index ("LDIX").
+     */
+    private static final int MAGIC = 0x4C444958;
+
+    /**
+     * Version du format. À incrémenter à chaque changement du format ou des règles de parsing.
+     */
+    private static final short VERSION = 2;
+
+    private static final byte GLOBAL_POINT = 0;
+    private static final byte GAME_POINT = 1;
+    private static final byte SPAWN_POINT = 2;
+
+    private MapIndexCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Récupère le fichier d'index associé à une source de carte.
+     * @param source Fichier schematic ou dossier du monde de la carte.
+     * @return Fichier d'index.
+     */
+    private static File getIndexFile(File source) {
+        String name = source.getName();
+        if (name.endsWith(".schem")) {
+            name = name.substring(0, name.length() - ".schem".length());
+        } else if (name.endsWith(MapManager.ARCHIVE_EXTENSION)) {
+            name = name.substring(0, name.length() - MapManager.ARCHIVE_EXTENSION.length());
+        }
+        return new File(source.getParentFile(), name + INDEX_EXTENSION);
+    }
+
+    /**
+     * Calcule l'empreinte d'une carte pour le jeu actuellement chargé.<br />
+     * L'empreinte couvre le manifeste de la source, les matériaux des {@link GamePoint} du jeu et les couleurs des
+     * équipes chargées, qui déterminent ensemble le résultat du parsing.
+     *
+     * @param source Fichier schematic ou dossier du monde de la carte.
+     * @return Empreinte hexadécimale, ou null si la source ne peut pas être lue.
+     */
+    public static String computeFingerprint(File source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+            if (source.isDirectory()) {
+                Path root = source.toPath();
+                List<Path> files;
+                try (Stream<Path> stream = Files.walk(root)) {
+                    files = stream
+                            .filter(Files::isRegularFile)
+                            .filter(path -> !path.getFileName().toString().equals("session.lock"))
+                            .sorted()
+                            .toList();
+                }
+                for (Path file : files) {
+                    digest.update(root.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                    updateDigest(digest, file);
+                }
+            } else {
+                updateDigest(digest, source.toPath());
+            }
+
+            Game game = Core.get().getGameManager().getCurrentGame();
+            if (game != null) {
+                for (Map.Entry<Material, String> entry : game.getGamePointsMaterials().entrySet()) {
+                    digest.update((entry.getKey().name() + "=" + entry.getValue() + ";").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            Core.get().getTeamManager().getTeams().values().stream()
+                    .map(team -> team.getColor().dyeColor().name())
+                    .sorted()
+                    .forEach(color -> digest.update(color.getBytes(StandardCharsets.UTF_8)));
+
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            Core.get().getLogger().log(Level.WARNING, "Unable to fingerprint map source {0}: {1}", new Object[]{source.getName(), e.getMessage()});
+            return null;
+        }
+    }
+
+    /**
+     * Ajoute la taille et la date de modification d'un fichier à l'empreinte.
+     */
+    private static void updateDigest(MessageDigest digest, Path file) throws IOException {
+        digest.update((Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis() + ";").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reconstruit une {@link ParsedMap} depuis l'index de la carte, si celui-ci correspond à l'empreinte donnée.<br />
+     * Les marqueurs ne sont pas retirés du monde, voir {@link MapParser#removeMarkers(ParsedMap)}.
+     *
+     * @param source      Fichier schematic ou dossier du monde de la carte.
+     * @param fingerprint Empreinte actuelle de la carte.
+     * @param world       Monde dans lequel la carte a été chargée.
+     * @return La carte parsée, ou null si l'index est absent, périmé ou illisible.
+     */
+    public static ParsedMap load(File source, String fingerprint, World world) {
+        File indexFile = getIndexFile(source);
+        if (fingerprint == null || !indexFile.isFile()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile.toPath())))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION || !in.readUTF().equals(fingerprint)) {
+                return null;
+            }
+
+            ParsedMap parsedMap = new ParsedMap(world);
+            parsedMap.setName(in.readUTF());
+            parsedMap.setAuthor(in.readUTF());
+
+            int pointCount = in.readInt();
+            for (int i = 0; i < pointCount; i++) {
+                byte kind = in.readByte();
+                String key = in.readUTF();
+                Location location = new Location(world, in.readInt(), in.readInt(), in.readInt());
+                switch (kind) {
+                    case GLOBAL_POINT -> parsedMap.addPoint(new GlobalPoint(key, location));
+                    case GAME_POINT -> parsedMap.addPoint(new GamePoint(key, location));
+                    case SPAWN_POINT -> {
+                        Team team = Core.get().getTeamManager().getTeamByDyeColor(DyeColor.valueOf(key));
+                        if (team != null) {
+                            parsedMap.addPoint(new SpawnPoint(team, location));
+                        }
+                    }
+                    default -> throw new IOException("Unknown point kind " + kind);
+                }
+            }
+
+            int markerCount = in.readInt();
+            for (int i = 0; i < markerCount; i++) {
+                parsedMap.addMarkerLocation(new Location(world, in.readInt(), in.readInt(), in.readInt()));
+            }
+            return parsedMap;
+        } catch (IOException | IllegalArgumentException e) {
+            Core.get().getLogger().log(Level.WARNING, "Ignoring unreadable map index {0}: {1}", new Object[]{indexFile.getName(), e.getMessage()});
+            return null;
+        }
+    }
+
+    /**
+     * Enregistre l'index d'une carte fraîchement parsée.
+     *
+     * @param source      Fichier schematic ou dossier du monde de la carte.
+     * @param fingerprint Empreinte de la carte au moment du parsing.
+     * @param parsedMap   Carte parsée.
+     */
+    public static void save(File source, String fingerprint, ParsedMap parsedMap) {
+        if (fingerprint == null) {
+            return;
+        }
+        File indexFile = getIndexFile(source);
+        File tempFile = new File(indexFile.getParentFile(), indexFile.getName() + ".tmp");
+
+        List<MapPoint> points = new ArrayList<>();
+        parsedMap.getGlobalPoints().values().forEach(points::addAll);
+        parsedMap.getGamePoints().values().forEach(points::addAll);
+        parsedMap.getSpawnPoints().values().forEach(points::addAll);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeUTF(fingerprint);
+            out.writeUTF(parsedMap.getName());
+            out.writeUTF(parsedMap.getAuthor());
+
+            out.writeInt(points.size());
+            for (MapPoint point : points) {
+                if (point instanceof SpawnPoint spawnPoint) {
+                    out.writeByte(SPAWN_POINT);
+                    out.writeUTF(spawnPoint.getTeam().getColor().dyeColor().name());
+                } else if (point instanceof GamePoint) {
+                    out.writeByte(GAME_POINT);
+                    out.writeUTF(point.getName());
+                } else {
+                    out.writeByte(GLOBAL_POINT);
+                    out.writeUTF(point.getName());
+                }
+                writeBlockPosition(out, point.getLocation());
+            }
+
+            out.writeInt(parsedMap.getMarkerLocations().size());
+            for (Location location : parsedMap.getMarkerLocations()) {
+                writeBlockPosition(out, location);
+            }
+        } catch (IOException e) {
+            Core.get().getLogger().log(Level.WARNING, "Unable to write map index {0}: {1}", new Object[]{indexFile.getName(), e.getMessage()});
+            return;
+        }
+
+        try {
+            Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Core.get().getLogger().log(Level.WARNING, "Unable to write map index {0}: {1}", new Object[]{indexFile.getName(), e.getMessage()});
+        }
+    }
+
+    /**
+     * Écrit les coordonnées de bloc d'une location. Les {@link SpawnPoint} sont décalés au centre du bloc, on ne garde
+     * donc que les coordonnées entières.
+     */
+    private static void writeBlockPosition(DataOutputStream out, Location location) throws IOException {
+        out.writeInt(location.getBlockX());
+        out.writeInt(location.getBlockY());
+        out.writeInt(location.getBlockZ());
+    }
+
+}
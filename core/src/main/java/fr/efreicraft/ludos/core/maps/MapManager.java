@@ -11,11 +11,12 @@ import fr.efreicraft.ludos.core.games.interfaces.Game;
 import fr.efreicraft.ludos.core.maps.exceptions.MapLoadingException;
 import fr.efreicraft.ludos.core.maps.interfaces.MapTypes;
 import fr.efreicraft.ludos.core.maps.interfaces.ParseMapArgs;
+import fr.efreicraft.ludos.core.players.LudosPlayer;
 import fr.efreicraft.ludos.core.utils.MessageUtils;
 import fr.efreicraft.ludos.core.utils.SchematicUtils;
+import fr.efreicraft.ludos.core.utils.WorldFilesUtils;
 import fr.efreicraft.ludos.core.utils.WorldUtils;
 import net.kyori.adventure.text.TextComponent;
-import org.apache.commons.io.FileUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -28,6 +29,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 
 /**
@@ -45,11 +49,21 @@ public class MapManager implements IManager {
      */
     private static final Location SCHEMATIC_FROM = new Location(null, -1, 150, -1);
 
+    /**
+     * Extension des archives de cartes : un monde compressé dans un seul fichier.
+     */
+    public static final String ARCHIVE_EXTENSION = ".ludosmap";
+
     /**
      * Carte actuellement chargée
      */
     private ParsedMap currentMap;
 
+    /**
+     * Nom de la carte actuellement chargée dans le dossier du jeu, indépendant du nom de son monde.
+     */
+    private String currentMapName;
+
     private org.bukkit.World lobbyWorld;
 
     /**
@@ -57,6 +71,21 @@ public class MapManager implements IManager {
      */
     private final Map<String, MapTypes> currentGameMaps = new HashMap<>();
 
+    /**
+     * Cartes préparées à l'avance pour les prochaines parties.
+     */
+    private MapPool mapPool;
+
+    /**
+     * Vrai si les cartes schematic sont clonées depuis un monde modèle au lieu d'être collées à chaque partie.
+     */
+    private boolean useSchematicTemplates;
+
+    /**
+     * Régions de la carte actuelle déclarées par le jeu.
+     */
+    private final RegionTriggerService regionTriggers = new RegionTriggerService();
+
     /**
      * Constructeur du gestionnaire de cartes. Il vérifie que la classe n'est pas déjà initialisée.
      */
@@ -72,6 +101,9 @@ public class MapManager implements IManager {
         Core.get().getLogger().log(Level.INFO, "Cleaned up {0} worlds.", cleanedUpWorlds);
 
         setupLobbyWorld();
+
+        useSchematicTemplates = Core.get().getPlugin().getConfig().getBoolean("schematicTemplates", true);
+        mapPool = new MapPool(Core.get().getPlugin().getConfig().getInt("mapPoolSize", 1));
     }
 
     /**
@@ -81,12 +113,17 @@ public class MapManager implements IManager {
      */
     public void setupCurrentGameMaps(Game game) {
         if (!this.currentGameMaps.isEmpty()) clearGameMaps();
+        // Les cartes préparées pour un autre jeu ne serviront plus.
+        mapPool.retainGame(game.getMetadata().name());
 
         File dataFolder = new File(Core.get().getPlugin().getDataFolder(), "game_maps/" + game.getMetadata().name());
         if(dataFolder.exists()) {
             for (File file : Objects.requireNonNull(dataFolder.listFiles())) {
                 if (file.isFile() && file.getName().endsWith(".schem")) {
                     currentGameMaps.put(file.getName().replace(".schem", ""), MapTypes.SCHEMATIC);
+                } else if (file.isFile() && file.getName().endsWith(ARCHIVE_EXTENSION)) {
+                    // Le dossier d'une carte reste prioritaire sur son archive.
+                    currentGameMaps.putIfAbsent(file.getName().replace(ARCHIVE_EXTENSION, ""), MapTypes.ARCHIVE);
                 } else if (file.isDirectory()) {
                     String[] fileList = file.list();
                     if (fileList != null && Arrays.asList(fileList).contains("level.dat")) {
@@ -116,12 +153,38 @@ public class MapManager implements IManager {
      * Décharge la carte actuellement chargée
      */
     public void unloadMap() {
+        regionTriggers.clear();
+        currentMapName = null;
         if (currentMap != null) {
             WorldUtils.deleteWorld(currentMap.getWorld());
             currentMap = null;
         }
     }
 
+    /**
+     * Détache la carte actuellement chargée sans supprimer son monde : les joueurs qui s'y trouvent sont renvoyés
+     * dans la salle d'attente et ses régions sont retirées. Le monde peut ensuite être supprimé plus tard avec
+     * {@link WorldUtils#deleteWorld(org.bukkit.World)}, une fois la partie suivante lancée.
+     * @return Carte détachée, ou null si aucune carte n'était chargée.
+     */
+    public ParsedMap detachCurrentMap() {
+        regionTriggers.clear();
+        ParsedMap detachedMap = currentMap;
+        currentMap = null;
+        currentMapName = null;
+        if (detachedMap != null) {
+            for (org.bukkit.entity.Player player : detachedMap.getWorld().getPlayers()) {
+                LudosPlayer ludosPlayer = Core.get().getPlayerManager().getPlayer(player);
+                if (ludosPlayer == null) {
+                    player.teleport(lobbyWorld.getSpawnLocation());
+                } else {
+                    ludosPlayer.spawnAtWaitingLobby();
+                }
+            }
+        }
+        return detachedMap;
+    }
+
     /**
      * Charge le lobby d'attente du serveur.
      */
@@ -157,50 +220,271 @@ public class MapManager implements IManager {
     }
 
     /**
-     * Charge une carte
+     * Charge une carte. La copie des fichiers de la carte se fait en arrière-plan, la carte courante n'est donc
+     * définie qu'une fois son monde créé.
      * @param mapName Nom de la carte
      */
     public void loadMap(String mapName) throws MapLoadingException {
         // Première étape : on décharge la carte actuelle
+        regionTriggers.clear();
         if(currentMap != null) {
             WorldUtils.deleteWorld(currentMap.getWorld());
+            currentMap = null;
         }
+        currentMapName = mapName;
+
+        Game game = Core.get().getGameManager().getCurrentGame();
+        String gameName = game.getMetadata().name();
 
-        ParseMapArgs preParseMap = null;
+        // Si la carte a déjà été préparée pendant la partie précédente, il suffit de l'échanger.
+        ParsedMap pooledMap = mapPool.take(gameName, mapName);
+        if (pooledMap != null) {
+            usePooledMap(mapName, pooledMap);
+            return;
+        }
 
-        switch (getMapType(mapName)) {
-            case SCHEMATIC -> preParseMap = loadSchematicMap(mapName);
-            case FOLDER -> preParseMap = loadFolderMap(mapName);
+        // Si la carte est encore en préparation dans le pool, on l'attend plutôt que de la charger une seconde fois.
+        CompletableFuture<ParsedMap> preparing = mapPool.getPreparing(gameName, mapName);
+        if (preparing != null) {
+            Core.get().getLogger().log(Level.INFO, "Waiting for map {0} from the map pool...", mapName);
+            preparing.thenAccept(parsedMap -> {
+                if (game != Core.get().getGameManager().getCurrentGame() || currentMap != null) return;
+                ParsedMap readyMap = mapPool.take(gameName, mapName);
+                if (readyMap != null) {
+                    usePooledMap(mapName, readyMap);
+                    return;
+                }
+                try {
+                    loadMapWorld(game, mapName);
+                } catch (MapLoadingException e) {
+                    Core.get().getLogger().log(Level.SEVERE, e.getMessage());
+                }
+            });
+            return;
         }
-        if (preParseMap == null) return;
 
+        loadMapWorld(game, mapName);
+    }
+
+    /**
+     * Utilise une carte préparée par le pool comme carte courante.
+     * @param mapName   Nom de la carte
+     * @param pooledMap Carte retirée du pool
+     */
+    private void usePooledMap(String mapName, ParsedMap pooledMap) {
+        Core.get().getLogger().log(Level.INFO, "Map {0} taken from the map pool.", mapName);
+        pooledMap.rebindSpawnPoints(Core.get().getTeamManager());
+        currentMap = pooledMap;
+        Core.get().getGameManager().getCurrentGame().preMapParse(pooledMap.getWorld());
+        onMapParsed();
+    }
+
+    /**
+     * Crée le monde d'une carte et la parse, en arrière-plan.
+     * @param game    Jeu pour lequel la carte est chargée
+     * @param mapName Nom de la carte
+     * @throws MapLoadingException Si la carte n'existe pas ou ne peut pas être chargée
+     */
+    private void loadMapWorld(Game game, String mapName) throws MapLoadingException {
+        createMapWorld(mapName, mapName, WorldFilesUtils.MAIN_THREAD, true).thenAccept(preParseMap -> {
+            if (preParseMap == null) return;
+
+            // Le jeu a pu être déchargé pendant la copie de la carte.
+            if (game != Core.get().getGameManager().getCurrentGame()) {
+                WorldUtils.deleteWorld(preParseMap.world);
+                return;
+            }
+
+            game.preMapParse(preParseMap.world);
+
+            // La carte n'est pas encore parsée, mais son monde doit être supprimé si elle est déchargée entre-temps.
+            ParsedMap parsingMap = new ParsedMap(preParseMap.world);
+            currentMap = parsingMap;
+            parseMapWorld(mapName, preParseMap, WorldFilesUtils.MAIN_THREAD).whenComplete((parsedMap, throwable) -> {
+                if (throwable != null) {
+                    Core.get().getLogger().log(Level.SEVERE, "Unable to parse map {0}: {1}",
+                            new Object[]{mapName, getLoadingErrorMessage(throwable)});
+                    return;
+                }
+                if (currentMap != parsingMap) return;
+                currentMap = parsedMap;
+                onMapParsed();
+            });
+        }).exceptionally(throwable -> {
+            Core.get().getLogger().log(Level.SEVERE, getLoadingErrorMessage(throwable));
+            return null;
+        });
+    }
+
+    /**
+     * Récupère le message d'une erreur survenue pendant le chargement asynchrone d'une carte.
+     * @param throwable Erreur levée par la future de chargement
+     * @return Message de l'erreur
+     */
+    public static String getLoadingErrorMessage(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        return cause.getMessage();
+    }
+
+    /**
+     * Termine le chargement de la carte courante une fois ses points connus.
+     */
+    private void onMapParsed() {
+        Core.get().getGameManager().getCurrentGame().postMapParse();
+        MessageUtils.broadcastMessage(MessageUtils.ChatPrefix.MAP, "&7La prochaine carte est &b" + currentMap.getName() + "&7!");
+    }
+
+    /**
+     * Crée le monde d'une carte du jeu actuel et y colle ou copie la carte.
+     *
+     * @param mapName    Nom de la carte
+     * @param worldName  Nom (non normalisé) du monde à créer
+     * @param mainThread Exécuteur du thread principal sur lequel le monde est créé
+     * @param buildTemplate Si le modèle d'une carte schematic peut être construit lorsqu'il n'existe pas encore
+     * @return Future des arguments nécessaires au parsing de la carte, complétée sur le thread principal.
+     * @throws MapLoadingException Si la carte n'existe pas ou ne peut pas être chargée
+     */
+    CompletableFuture<ParseMapArgs> createMapWorld(String mapName, String worldName, Executor mainThread, boolean buildTemplate) throws MapLoadingException {
+        MapTypes mapType = getMapType(mapName);
+        if (mapType == null) {
+            throw new MapLoadingException("La carte " + mapName + " n'existe pas.");
+        }
+
+        return switch (mapType) {
+            case SCHEMATIC -> loadSchematicMap(mapName, worldName, mainThread, buildTemplate);
+            case FOLDER -> loadFolderMap(mapName, worldName, mainThread);
+            case ARCHIVE -> loadArchiveMap(mapName, worldName, mainThread);
+        };
+    }
+
+    /**
+     * Récupère les points d'une carte dont le monde a été créé par {@link #createMapWorld}.
+     * Les points sont lus depuis l'index de la carte s'il est à jour, sinon la carte est parsée puis indexée.
+     *
+     * @param mapName     Nom de la carte
+     * @param preParseMap Arguments de parsing de la carte
+     * @param mainThread  Exécuteur du thread principal sur lequel le parsing est terminé
+     * @return Future de la carte parsée, déjà complétée si l'index est à jour, ou en erreur si le parsing a échoué.
+     */
+    CompletableFuture<ParsedMap> parseMapWorld(String mapName, ParseMapArgs preParseMap, Executor mainThread) {
         WorldUtils.getChunksBetween(preParseMap.firstBoundary, preParseMap.lastBoundary);
 
-        Core.get().getGameManager().getCurrentGame().preMapParse(preParseMap.world);
+        // Si l'index de la carte est à jour, on évite le scan complet des chunks.
+        File mapSource = getMapSource(mapName);
+        String fingerprint = MapIndexCache.computeFingerprint(mapSource);
+        ParsedMap cachedMap = MapIndexCache.load(mapSource, fingerprint, preParseMap.world);
+        if (cachedMap != null) {
+            Core.get().getLogger().log(Level.INFO, "Map {0} loaded from its point index.", mapName);
+            MapParser.removeMarkers(cachedMap);
+            cachedMap.setParsed(true);
+            cachedMap.setMiddleOfMap(null);
+            return CompletableFuture.completedFuture(cachedMap);
+        }
 
-        currentMap = MapParser.parseMap(
-                preParseMap.world,
+        return MapParser.parseMap(
+                new ParsedMap(preParseMap.world),
                 preParseMap.firstBoundary,
                 preParseMap.lastBoundary,
-                parsedMap -> {
-                    Core.get().getGameManager().getCurrentGame().postMapParse();
-                    MessageUtils.broadcastMessage(MessageUtils.ChatPrefix.MAP, "&7La prochaine carte est &b" + currentMap.getName() + "&7!");
-                }
-        );
+                mainThread
+        ).thenApply(parsedMap -> {
+            MapIndexCache.save(mapSource, fingerprint, parsedMap);
+            return parsedMap;
+        });
+    }
+
+    /**
+     * Récupère la source d'une carte du jeu actuel : le fichier schematic ou le dossier du monde.
+     * @param mapName Nom de la carte
+     * @return Fichier ou dossier source de la carte
+     */
+    private File getMapSource(String mapName) {
+        String path = "game_maps/" + Core.get().getGameManager().getCurrentGame().getMetadata().name() + "/" + mapName;
+        if (getMapType(mapName) == MapTypes.SCHEMATIC) {
+            path += ".schem";
+        } else if (getMapType(mapName) == MapTypes.ARCHIVE) {
+            path += ARCHIVE_EXTENSION;
+        }
+        return new File(Core.get().getPlugin().getDataFolder(), path);
     }
 
     /**
      * Charge et lance le parsing d'une carte venant d'un schematic
      *
-     * @param mapName Nom de la carte
+     * @param mapName    Nom de la carte
+     * @param worldName  Nom (non normalisé) du monde à créer
+     * @param mainThread Exécuteur du thread principal sur lequel le monde est créé
+     * @param buildTemplate Si le modèle de la carte peut être construit lorsqu'il n'existe pas encore. Sinon, le
+     *                      schematic est collé directement dans le monde.
      * @return Les arguments nécessaires au parsing de la carte
      * @throws MapLoadingException Si le chargement du fichier ou du schematic est impossible
      */
-    private ParseMapArgs loadSchematicMap(String mapName) throws MapLoadingException {
+    private CompletableFuture<ParseMapArgs> loadSchematicMap(String mapName, String worldName, Executor mainThread, boolean buildTemplate) throws MapLoadingException {
+        File schematicFile = getMapSource(mapName);
+        MapTemplates.MapTemplate template = useSchematicTemplates ? MapTemplates.load(schematicFile) : null;
+        if (template == null && useSchematicTemplates && buildTemplate) {
+            template = buildSchematicTemplate(mapName, schematicFile);
+            if (template == null) return CompletableFuture.completedFuture(null);
+        }
+
+        if (template != null) {
+            MapTemplates.MapTemplate loadedTemplate = template;
+
+            Core.get().getLogger().log(Level.INFO, "Cloning template of map {0} into world {1}...", new Object[]{mapName, worldName});
+            return MapTemplates.cloneInto(schematicFile, new File(Bukkit.getWorldContainer(), WorldUtils.getNormalizedWorldName(worldName)))
+                    .thenApplyAsync(v -> loadedTemplate.toParseMapArgs(WorldUtils.createWorld(worldName)), mainThread);
+        }
+
         // On créé le nouveau monde vide
-        Core.get().getLogger().log(Level.INFO, "Creating world {0}...", mapName);
-        org.bukkit.World world = WorldUtils.createWorld(mapName);
+        Core.get().getLogger().log(Level.INFO, "Creating world {0}...", worldName);
+        return CompletableFuture.completedFuture(pasteSchematicMap(mapName, WorldUtils.createWorld(worldName)));
+    }
+
+    /**
+     * Colle une fois le schematic d'une carte dans un monde temporaire, puis en garde les fichiers de région comme
+     * modèle pour les parties suivantes.
+     *
+     * @param mapName       Nom de la carte
+     * @param schematicFile Fichier schematic de la carte
+     * @return Le modèle de la carte, ou null si aucun jeu n'est chargé.
+     * @throws MapLoadingException Si le collage du schematic, le déchargement du monde ou l'enregistrement du modèle
+     *                             est impossible
+     */
+    private MapTemplates.MapTemplate buildSchematicTemplate(String mapName, File schematicFile) throws MapLoadingException {
+        Core.get().getLogger().log(Level.INFO, "Building template of map {0}...", mapName);
+        org.bukkit.World world = WorldUtils.createWorld(mapName + "-template");
+        File worldFolder = world.getWorldFolder();
+
+        ParseMapArgs args = pasteSchematicMap(mapName, world);
+        if (args == null) {
+            WorldUtils.deleteWorld(world);
+            return null;
+        }
+
+        // Le déchargement avec sauvegarde écrit tous les chunks collés dans les fichiers de région.
+        if (!Bukkit.unloadWorld(world, true)) {
+            WorldUtils.deleteWorld(world);
+            throw new MapLoadingException("Impossible de décharger le monde modèle de la carte " + mapName + ".");
+        }
+        try {
+            return MapTemplates.save(schematicFile, worldFolder, args);
+        } catch (IOException e) {
+            throw new MapLoadingException("Impossible d'enregistrer le modèle de la carte : " + e.getMessage());
+        } finally {
+            WorldFilesUtils.deleteDirectory(worldFolder.toPath());
+        }
+    }
 
+    /**
+     * Colle le schematic d'une carte dans un monde vide.
+     *
+     * @param mapName Nom de la carte
+     * @param world   Monde vide dans lequel coller la carte
+     * @return Les arguments nécessaires au parsing de la carte
+     * @throws MapLoadingException Si le chargement du fichier ou du schematic est impossible
+     */
+    private ParseMapArgs pasteSchematicMap(String mapName, org.bukkit.World world) throws MapLoadingException {
         World currentWorld = BukkitAdapter.adapt(world);
 
         Core.get().getLogger().log(Level.INFO, "Pasting schematic {0} in the new world...", mapName);
@@ -269,7 +553,7 @@ public class MapManager implements IManager {
         return null;
     }
 
-    private ParseMapArgs loadFolderMap(String mapName) throws MapLoadingException {
+    private CompletableFuture<ParseMapArgs> loadFolderMap(String mapName, String worldName, Executor mainThread) throws MapLoadingException {
         Core.get().getLogger().log(Level.INFO, "Copying world folder {0}...", mapName);
 
         File sourceFolder = new File(Core.get().getPlugin().getDataFolder(),
@@ -279,13 +563,79 @@ public class MapManager implements IManager {
         Core.get().getLogger().log(Level.INFO, "Path is {0}", Bukkit.getPluginsFolder().getAbsolutePath().substring(0, Bukkit.getPluginsFolder().getAbsolutePath().lastIndexOf(File.separatorChar)));
         File destination = new File(Bukkit.getPluginsFolder().getAbsolutePath().substring(0, Bukkit.getPluginsFolder().getAbsolutePath().lastIndexOf(File.separatorChar)));
 
-        try {
-            FileUtils.copyDirectory(sourceFolder, new File(destination, WorldUtils.getNormalizedWorldName(mapName)));
-        } catch (IOException e) {
-            throw new MapLoadingException("Impossible de copier le dossier dans la racine du serveur : " + e.getMessage());
+        File worldFolder = new File(destination, WorldUtils.getNormalizedWorldName(worldName));
+        WorldFilesUtils.deleteDirectory(worldFolder.toPath());
+
+        return WorldFilesUtils.copyDirectory(sourceFolder.toPath(), worldFolder.toPath())
+                .exceptionally(throwable -> {
+                    throw new CompletionException(new MapLoadingException("Impossible de copier le dossier dans la racine du serveur : " + getLoadingErrorMessage(throwable)));
+                })
+                .thenApplyAsync(v -> {
+                    try {
+                        return openFolderMap(worldName);
+                    } catch (MapLoadingException e) {
+                        throw new CompletionException(e);
+                    }
+                }, mainThread);
+    }
+
+    /**
+     * Décompresse une archive de carte à la racine du serveur, puis crée son monde comme une carte dossier.
+     *
+     * @param mapName    Nom de la carte
+     * @param worldName  Nom (non normalisé) du monde à créer
+     * @param mainThread Exécuteur du thread principal sur lequel le monde est créé
+     * @return Future des arguments nécessaires au parsing de la carte
+     * @throws MapLoadingException Si l'archive n'existe pas
+     */
+    private CompletableFuture<ParseMapArgs> loadArchiveMap(String mapName, String worldName, Executor mainThread) throws MapLoadingException {
+        Core.get().getLogger().log(Level.INFO, "Extracting map archive {0}...", mapName);
+
+        File archive = getMapSource(mapName);
+        if (!archive.isFile()) throw new MapLoadingException(mapName + " n'est pas une archive ou n'existe pas.");
+
+        File worldFolder = new File(Bukkit.getWorldContainer(), WorldUtils.getNormalizedWorldName(worldName));
+        WorldFilesUtils.deleteDirectory(worldFolder.toPath());
+
+        return WorldFilesUtils.extractArchive(archive.toPath(), worldFolder.toPath())
+                .exceptionally(throwable -> {
+                    throw new CompletionException(new MapLoadingException("Impossible de décompresser l'archive de la carte : " + getLoadingErrorMessage(throwable)));
+                })
+                .thenApplyAsync(v -> {
+                    try {
+                        return openFolderMap(worldName);
+                    } catch (MapLoadingException e) {
+                        throw new CompletionException(e);
+                    }
+                }, mainThread);
+    }
+
+    /**
+     * Compresse une carte dossier du jeu actuel en archive ({@value #ARCHIVE_EXTENSION}), à côté du dossier.
+     * L'archive est utilisée à la place du dossier dès que celui-ci est retiré.
+     *
+     * @param mapName Nom de la carte dossier
+     * @return Future complétée quand l'archive est écrite
+     * @throws MapLoadingException Si la carte n'est pas une carte dossier
+     */
+    public CompletableFuture<Void> archiveFolderMap(String mapName) throws MapLoadingException {
+        if (getMapType(mapName) != MapTypes.FOLDER) {
+            throw new MapLoadingException(mapName + " n'est pas une carte dossier.");
         }
+        File sourceFolder = getMapSource(mapName);
+        File archive = new File(sourceFolder.getParentFile(), mapName + ARCHIVE_EXTENSION);
+        return WorldFilesUtils.packDirectory(sourceFolder.toPath(), archive.toPath());
+    }
 
-        org.bukkit.World world = WorldUtils.createWorld(mapName);
+    /**
+     * Crée le monde d'une carte dont le dossier a été copié à la racine du serveur.
+     *
+     * @param worldName Nom (non normalisé) du monde
+     * @return Les arguments nécessaires au parsing de la carte
+     * @throws MapLoadingException Si le panneau d'informations de la carte est absent ou invalide
+     */
+    private ParseMapArgs openFolderMap(String worldName) throws MapLoadingException {
+        org.bukkit.World world = WorldUtils.createWorld(worldName);
         if (Core.get().getGameManager().getCurrentGame() != null) {
             Block spongeBlock = world.getSpawnLocation().getBlock();
             if (spongeBlock.getType() != Material.SPONGE) throw new MapLoadingException("World spawn is not The Sponge Block");
@@ -317,6 +667,14 @@ public class MapManager implements IManager {
         return currentMap;
     }
 
+    /**
+     * Récupère le nom de la carte actuellement chargée dans le dossier du jeu
+     * @return Nom de la carte, ou null si aucune carte n'est chargée
+     */
+    public String getCurrentMapName() {
+        return currentMapName;
+    }
+
     /**
      * Renvoie le type {@link MapTypes} de la carte donnée
      * @param mapName Nom de la carte
@@ -326,6 +684,22 @@ public class MapManager implements IManager {
         return currentGameMaps.get(mapName);
     }
 
+    /**
+     * Récupère le pool de cartes préparées à l'avance
+     * @return Pool de cartes
+     */
+    public MapPool getMapPool() {
+        return mapPool;
+    }
+
+    /**
+     * Récupère le service de déclencheurs des régions de la carte actuelle
+     * @return Service de déclencheurs de régions
+     */
+    public RegionTriggerService getRegionTriggers() {
+        return regionTriggers;
+    }
+
     /**
      * Récupère le monde de la salle d'attente
      * @return Monde de la salle d'attente
@@ -1,5 +1,8 @@
 package fr.efreicraft.ludos.core.maps;
 
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
 import fr.efreicraft.ludos.core.Core;
 import fr.efreicraft.ludos.core.maps.interfaces.IMapParsedCallback;
 import fr.efreicraft.ludos.core.maps.interfaces.MapPoint;
@@ -8,14 +11,17 @@ import fr.efreicraft.ludos.core.maps.points.GlobalPoint;
 import fr.efreicraft.ludos.core.maps.points.SpawnPoint;
 import fr.efreicraft.ludos.core.teams.Team;
 import fr.efreicraft.ludos.core.utils.ColorUtils;
+import fr.efreicraft.ludos.core.utils.SchematicUtils;
+import fr.efreicraft.ludos.core.utils.WorldFilesUtils;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import org.bukkit.*;
-import org.bukkit.block.Block;
 import org.bukkit.block.Sign;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 
 /**
@@ -49,6 +55,35 @@ public class MapParser {
         MAP_POINTS.put(Material.OBSIDIAN, "MIDDLE");
     }
 
+    /**
+     * Types de blocs marqueurs, posés au-dessus du bloc qui définit le point.
+     */
+    private enum MarkerKind {
+        SPAWN_OR_GLOBAL_POINT,
+        GAME_POINT,
+        SIGN
+    }
+
+    /**
+     * Palette des blocs marqueurs, lue pour chaque bloc scanné.
+     */
+    private static final Map<Material, MarkerKind> MARKER_PALETTE = new EnumMap<>(Material.class);
+
+    static {
+        MARKER_PALETTE.put(MapPoint.SPAWN_N_GLOBALPOINT_MARKER, MarkerKind.SPAWN_OR_GLOBAL_POINT);
+        MARKER_PALETTE.put(MapPoint.GAMEPOINT_MARKER, MarkerKind.GAME_POINT);
+        for (Material material : Material.values()) {
+            if (!material.isLegacy() && material.name().contains("SIGN")) {
+                MARKER_PALETTE.put(material, MarkerKind.SIGN);
+            }
+        }
+    }
+
+    /**
+     * Pool des workers de scan des chunks, borné au nombre de cœurs moins celui du thread principal.
+     */
+    private static final ForkJoinPool SCAN_POOL = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
     /**
      * Permet de déterminer ce que définie le point actuel.<br />
      * <p>
@@ -57,15 +92,18 @@ public class MapParser {
      * - {@link SpawnPoint} : Le point est un point de spawn pour une équipe du jeu.<br />
      * - {@link GamePoint} : Le point est un point de jeu.<br />
      *
-     * @param block      Bloc actuel
-     * @param blockAbove Bloc au-dessus du bloc actuel
-     * @param location   Location du bloc actuel
+     * @param block             Bloc actuel
+     * @param marker            Type du marqueur au-dessus du bloc actuel
+     * @param location          Location du bloc actuel
+     * @param materialStringMap Matériaux des {@link GamePoint} du jeu
+     * @param teams             Équipes du jeu, par couleur
      * @return Un {@link MapPoint} ou null si le bloc n'est pas un point.
      */
-    private static MapPoint parseMapPoint(Material block, Material blockAbove, Location location) {
-        if (blockAbove == MapPoint.SPAWN_N_GLOBALPOINT_MARKER) {
+    private static MapPoint parseMapPoint(Material block, MarkerKind marker, Location location,
+                                          Map<Material, String> materialStringMap, Map<DyeColor, Team> teams) {
+        if (marker == MarkerKind.SPAWN_OR_GLOBAL_POINT) {
             if (ColorUtils.getWoolDyeColorMap().containsKey(block)) {
-                Team team = Core.get().getTeamManager().getTeamByDyeColor(ColorUtils.getWoolDyeColorMap().get(block));
+                Team team = teams.get(ColorUtils.getWoolDyeColorMap().get(block));
                 if (team != null) {
                     return new SpawnPoint(team, location);
                 }
@@ -73,9 +111,7 @@ public class MapParser {
             if (MAP_POINTS.containsKey(block)) {
                 return new GlobalPoint(MAP_POINTS.get(block), location);
             }
-        } else if (blockAbove == MapPoint.GAMEPOINT_MARKER) {
-            Map<Material, String> materialStringMap =
-                    Core.get().getGameManager().getCurrentGame().getGamePointsMaterials();
+        } else if (marker == MarkerKind.GAME_POINT) {
             if (materialStringMap.containsKey(block)) {
                 return new GamePoint(materialStringMap.get(block), location);
             }
@@ -84,7 +120,75 @@ public class MapParser {
     }
 
     /**
-     * Permet de scanner la carte du monde de façon <b>asynchrone</b> à partir des points donnés.
+     * Résultat du scan d'un chunk, propre au worker qui l'a produit.
+     * @param points  Points trouvés dans le chunk
+     * @param markers Blocs marqueurs à retirer
+     * @param signs   Panneaux d'informations (au-dessus d'une éponge) trouvés dans le chunk
+     */
+    private record ChunkScanResult(List<MapPoint> points, List<Location> markers, List<Location> signs) {
+    }
+
+    /**
+     * Scanne un chunk à la recherche de points. Ne lit que le {@link ChunkSnapshot}, peut donc être appelé hors du
+     * thread principal.<br />
+     * Seules les couches entre minY et maxY sont lues, et les sections vides du chunk sont sautées. Un bloc n'est lu
+     * que si le bloc au-dessus est un marqueur.
+     *
+     * @param world               Monde de la carte
+     * @param chunkSnapshot       Chunk à scanner
+     * @param minY                Couche la plus basse à scanner
+     * @param maxY                Couche la plus haute à scanner
+     * @param gamePointsMaterials Matériaux des {@link GamePoint} du jeu
+     * @param teams               Équipes du jeu, par couleur
+     * @return Résultat du scan du chunk
+     */
+    private static ChunkScanResult scanChunk(org.bukkit.World world, ChunkSnapshot chunkSnapshot, int minY, int maxY,
+                                             Map<Material, String> gamePointsMaterials, Map<DyeColor, Team> teams) {
+        ChunkScanResult result = new ChunkScanResult(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        int worldMinHeight = world.getMinHeight();
+
+        for (int y = minY; y <= maxY; y++) {
+            // Les sections vides ne contiennent aucun bloc de point : on passe directement à la section suivante.
+            if (chunkSnapshot.isSectionEmpty((y - worldMinHeight) >> 4)) {
+                y |= 15;
+                continue;
+            }
+
+            for (int xz = 0; xz < 16 * 16; ++xz) {
+                int x = xz & 15;
+                int z = xz >> 4;
+
+                MarkerKind marker = MARKER_PALETTE.get(chunkSnapshot.getBlockType(x, y + 1, z));
+                if (marker == null) continue;
+
+                Material currentBlock = chunkSnapshot.getBlockType(x, y, z);
+                int blockX = chunkSnapshot.getX() * 16 + x;
+                int blockZ = chunkSnapshot.getZ() * 16 + z;
+
+                if (marker == MarkerKind.SIGN) {
+                    if (currentBlock == Material.SPONGE) {
+                        result.signs().add(new Location(world, blockX, y + 1, blockZ));
+                        result.markers().add(new Location(world, blockX, y + 1, blockZ));
+                        result.markers().add(new Location(world, blockX, y, blockZ));
+                    }
+                    continue;
+                }
+
+                MapPoint mp = parseMapPoint(currentBlock, marker, new Location(world, blockX, y, blockZ), gamePointsMaterials, teams);
+                if (mp != null) {
+                    result.points().add(mp);
+                    result.markers().add(new Location(world, blockX, y + 1, blockZ));
+                    result.markers().add(new Location(world, blockX, y, blockZ));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Permet de scanner la carte du monde de façon <b>asynchrone</b> à partir des points donnés.<br />
+     * Les chunks sont scannés en parallèle par {@link #SCAN_POOL}, chacun dans son propre résultat. Les résultats
+     * sont ensuite fusionnés dans la {@link ParsedMap} sur le thread principal.
      *
      * @param world    Monde à scanner
      * @param p1       Point 1 du cuboid de scan
@@ -94,6 +198,33 @@ public class MapParser {
      */
     public static ParsedMap parseMap(org.bukkit.World world, Location p1, Location p2, IMapParsedCallback callback) {
         ParsedMap parsedMap = new ParsedMap(world);
+        parseMap(parsedMap, p1, p2, WorldFilesUtils.MAIN_THREAD)
+                .thenAccept(callback::onMapParsed)
+                .exceptionally(throwable -> {
+                    Core.get().getLogger().log(Level.SEVERE, "Unable to parse map in world {0}: {1}",
+                            new Object[]{world.getName(), MapManager.getLoadingErrorMessage(throwable)});
+                    return null;
+                });
+        return parsedMap;
+    }
+
+    /**
+     * Scanne la carte comme {@link #parseMap(org.bukkit.World, Location, Location, IMapParsedCallback)}, en
+     * fusionnant les résultats sur l'exécuteur donné.
+     *
+     * @param parsedMap  Carte à remplir, dont le monde est scanné
+     * @param p1         Point 1 du cuboid de scan
+     * @param p2         Point 2 du cuboid de scan
+     * @param mainThread Exécuteur du thread principal sur lequel les résultats sont fusionnés
+     * @return Future de la carte, complétée une fois la carte parsée, ou en erreur si le parsing a échoué.
+     */
+    public static CompletableFuture<ParsedMap> parseMap(ParsedMap parsedMap, Location p1, Location p2, Executor mainThread) {
+        org.bukkit.World world = parsedMap.getWorld();
+
+        // Les workers asynchrones ne lisent que ces copies, le jeu et les équipes pouvant changer pendant le parsing.
+        Map<Material, String> gamePointsMaterials =
+                new EnumMap<>(Core.get().getGameManager().getCurrentGame().getGamePointsMaterials());
+        Map<DyeColor, Team> teams = Core.get().getTeamManager().getTeamsByDyeColor();
 
         // Load chunks between p1 and p2
         int minX = Math.min(p1.getBlockX(), p2.getBlockX());
@@ -101,118 +232,121 @@ public class MapParser {
         int minZ = Math.min(p1.getBlockZ(), p2.getBlockZ());
         int maxZ = Math.max(p1.getBlockZ(), p2.getBlockZ());
 
+        // Le bloc au-dessus de la couche la plus haute doit rester dans le monde.
+        int minY = Math.max(world.getMinHeight(), Math.min(p1.getBlockY(), p2.getBlockY()));
+        int maxY = Math.min(world.getMaxHeight() - 2, Math.max(p1.getBlockY(), p2.getBlockY()));
+
         int minChunkX = minX >> 4;
         int maxChunkX = maxX >> 4;
         int minChunkZ = minZ >> 4;
         int maxChunkZ = maxZ >> 4;
 
-        int chunkCount = (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
-        AtomicInteger chunkRead = new AtomicInteger();
-
-        Set<ChunkSnapshot> chunkSnapshots = new HashSet<>();
+        List<CompletableFuture<ChunkScanResult>> scans = new ArrayList<>();
 
         for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
             for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
                 Chunk chunk = world.getChunkAt(chunkX, chunkZ);
                 if (!chunk.isLoaded()) chunk.load();
-                chunkSnapshots.add(chunk.getChunkSnapshot(false, false, false));
+                ChunkSnapshot chunkSnapshot = chunk.getChunkSnapshot(false, false, false);
                 chunk.unload();
+
+                scans.add(CompletableFuture.supplyAsync(
+                        () -> scanChunk(world, chunkSnapshot, minY, maxY, gamePointsMaterials, teams),
+                        SCAN_POOL
+                ));
             }
         }
 
-        final ArrayList<String> lines = new ArrayList<>();
-        List<Block> blocksToBreak = new ArrayList<>();
-        for (ChunkSnapshot chunkSnapshot : chunkSnapshots) {
-            Bukkit.getScheduler().runTaskAsynchronously(Core.get().getPlugin(), () -> {
-                for (int xz = 0; xz < 16 * 16 * 256; ++xz) {
-                    int x = xz & 15;
-                    int z = xz >> 4 & 15;
-                    int y = xz >> 8;
-
-                    int blockX = chunkSnapshot.getX() * 16 + x;
-                    int blockZ = chunkSnapshot.getZ() * 16 + z;
-
-                    Material currentBlock = chunkSnapshot.getBlockType(x, y, z);
-                    Material blockAbove = chunkSnapshot.getBlockType(x, y + 1, z);
-                    if (currentBlock == Material.SPONGE && blockAbove.name().contains("SIGN")) {
-                        blocksToBreak.addAll(Arrays.asList(
-                                world.getBlockAt(blockX, y + 1, blockZ),
-                                world.getBlockAt(blockX, y, blockZ)
-                        ));
-
-                        Bukkit.getScheduler().runTask(Core.get().getPlugin(), () -> {
-                            Block block = world.getBlockAt(blockX, y + 1, blockZ);
-                            Sign sign = (Sign) block.getState();
-                            StringBuilder builder = new StringBuilder();
-                            for (Component line : sign.lines()) {
-                                lines.add(((TextComponent) line).content());
-                            }
-                            builder.append(lines.get(0));
-                            parsedMap.setName(builder.toString().trim());
-                            builder.delete(0, builder.length());
-
-                            builder.append(lines.get(1));
-                            parsedMap.setAuthor(builder.toString().trim());
-                        });
-                    } else if (currentBlock != Material.AIR) {
-                        MapPoint mp = parseMapPoint(currentBlock, blockAbove, new Location(world, blockX, y, blockZ));
-                        if (mp != null) {
-                            parsedMap.addPoint(mp);
-                            blocksToBreak.addAll(Arrays.asList(
-                                    world.getBlockAt(blockX, y + 1, blockZ),
-                                    world.getBlockAt(blockX, y, blockZ)
-                            ));
-                        }
+        return CompletableFuture.allOf(scans.toArray(new CompletableFuture[0]))
+                .thenApplyAsync(v -> {
+                    List<Location> signs = new ArrayList<>();
+                    for (CompletableFuture<ChunkScanResult> scan : scans) {
+                        ChunkScanResult result = scan.join();
+                        result.points().forEach(parsedMap::addPoint);
+                        result.markers().forEach(parsedMap::addMarkerLocation);
+                        signs.addAll(result.signs());
                     }
-                }
+                    completeParsing(parsedMap, signs);
+                    return parsedMap;
+                }, mainThread);
+    }
+
+    /**
+     * Termine le parsing d'une carte une fois tous ses chunks scannés : lit le panneau d'informations, retire les
+     * marqueurs et complète les BOUNDARY depuis le panneau si besoin. Doit être appelé sur le thread principal.
+     *
+     * @param parsedMap Carte dont les points ont été ajoutés
+     * @param signs     Panneaux d'informations trouvés pendant le scan
+     */
+    private static void completeParsing(ParsedMap parsedMap, List<Location> signs) {
+        org.bukkit.World world = parsedMap.getWorld();
 
-                chunkRead.getAndIncrement();
-            });
+        final ArrayList<String> lines = new ArrayList<>();
+        for (Location signLocation : signs) {
+            Sign sign = (Sign) world.getBlockAt(signLocation).getState();
+            for (Component line : sign.lines()) {
+                lines.add(((TextComponent) line).content());
+            }
+        }
+        if (!lines.isEmpty()) {
+            parsedMap.setName(lines.get(0).trim());
+            parsedMap.setAuthor(lines.get(1).trim());
         }
 
-        Bukkit.getScheduler().runTaskTimer(Core.get().getPlugin(), task -> {
-            if (chunkRead.get() == chunkCount) {
-                task.cancel();
-                for (Block block : blocksToBreak) {
-                    block.setType(Material.AIR);
-                }
+        removeMarkers(parsedMap);
 
-                if (parsedMap.getGlobalPoints().get("BOUNDARY") == null || parsedMap.getGlobalPoints().get("BOUNDARY").size() < 2) {
-                    parsedMap.getGlobalPoints().put("BOUNDARY", new ArrayList<>());
+        if (parsedMap.getGlobalPoints().get("BOUNDARY") == null || parsedMap.getGlobalPoints().get("BOUNDARY").size() < 2) {
+            parsedMap.getGlobalPoints().put("BOUNDARY", new ArrayList<>());
 
-                    // On a pas trouvé les boundaries. Essayons avec le panneau sur éponge.
-                    if (lines.get(2).equals("") || lines.get(3).equals("")) {
-                        throw new IllegalStateException("La carte doit avoir deux points de délimitation.");
-                    }
+            // On a pas trouvé les boundaries. Essayons avec le panneau sur éponge.
+            if (lines.size() < 4 || lines.get(2).equals("") || lines.get(3).equals("")) {
+                throw new IllegalStateException("La carte doit avoir deux points de délimitation.");
+            }
 
-                    Core.get().getLogger().log(Level.INFO, "Coords boundary 1: {0}", lines.get(2));
-                    Core.get().getLogger().log(Level.INFO, "Coords boundary 2: {0}", lines.get(3));
+            Core.get().getLogger().log(Level.INFO, "Coords boundary 1: {0}", lines.get(2));
+            Core.get().getLogger().log(Level.INFO, "Coords boundary 2: {0}", lines.get(3));
 
-                    String[] p1Str = lines.get(2).trim().split(" ");
-                    String[] p2Str = lines.get(3).trim().split(" ");
-                    if (p1Str.length != 3 || p2Str.length != 3) {
-                        throw new IllegalStateException("Les points de délimitation doivent être au format x y z.");
-                    }
-                    Location p1Loc;
-                    Location p2Loc;
-                    try {
-                        p1Loc = new Location(world, Integer.parseInt(p1Str[0]), Integer.parseInt(p1Str[1]), Integer.parseInt(p1Str[2]));
-                        p2Loc = new Location(world, Integer.parseInt(p2Str[0]), Integer.parseInt(p2Str[1]), Integer.parseInt(p2Str[2]));
-                    } catch (NumberFormatException e) {
-                        throw new IllegalStateException("Les points de délimitation doivent être des coordonnées au format x y z.");
-                    }
+            String[] p1Str = lines.get(2).trim().split(" ");
+            String[] p2Str = lines.get(3).trim().split(" ");
+            if (p1Str.length != 3 || p2Str.length != 3) {
+                throw new IllegalStateException("Les points de délimitation doivent être au format x y z.");
+            }
+            Location p1Loc;
+            Location p2Loc;
+            try {
+                p1Loc = new Location(world, Integer.parseInt(p1Str[0]), Integer.parseInt(p1Str[1]), Integer.parseInt(p1Str[2]));
+                p2Loc = new Location(world, Integer.parseInt(p2Str[0]), Integer.parseInt(p2Str[1]), Integer.parseInt(p2Str[2]));
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Les points de délimitation doivent être des coordonnées au format x y z.");
+            }
 
-                    parsedMap.addPoint(new GlobalPoint("BOUNDARY", p1Loc));
-                    parsedMap.addPoint(new GlobalPoint("BOUNDARY", p2Loc));
-                }
+            parsedMap.addPoint(new GlobalPoint("BOUNDARY", p1Loc));
+            parsedMap.addPoint(new GlobalPoint("BOUNDARY", p2Loc));
+        }
 
-                parsedMap.setParsed(true);
-                parsedMap.setMiddleOfMap(null); // Rappel : passer en paramètre null fait que le point est calculé automatiquement.
-                callback.onMapParsed(parsedMap);
-            }
-        }, 0, 1);
+        parsedMap.setParsed(true);
+        parsedMap.setMiddleOfMap(null); // Rappel : passer en paramètre null fait que le point est calculé automatiquement.
+    }
 
-        return parsedMap;
+    /**
+     * Retire de la carte les blocs marqueurs relevés pendant le parsing, en une seule édition sans physique.
+     *
+     * @param parsedMap Carte parsée dont on retire les marqueurs.
+     */
+    public static void removeMarkers(ParsedMap parsedMap) {
+        List<BlockVector3> positions = new ArrayList<>(parsedMap.getMarkerLocations().size());
+        for (Location location : parsedMap.getMarkerLocations()) {
+            positions.add(BlockVector3.at(location.getBlockX(), location.getBlockY(), location.getBlockZ()));
+        }
+
+        try {
+            SchematicUtils.clearBlocks(BukkitAdapter.adapt(parsedMap.getWorld()), positions);
+        } catch (WorldEditException e) {
+            Core.get().getLogger().log(Level.WARNING, "Unable to remove map markers in one edit, falling back to block updates: {0}", e.getMessage());
+            for (Location location : parsedMap.getMarkerLocations()) {
+                parsedMap.getWorld().getBlockAt(location).setType(Material.AIR, false);
+            }
+        }
     }
 
 }
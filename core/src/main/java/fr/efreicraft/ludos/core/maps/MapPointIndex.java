@@ -0,0 +1,155 @@
+package fr.efreicraft.ludos.core.maps;
+
+import fr.efreicraft.ludos.core.maps.interfaces.MapPoint;
+import fr.efreicraft.ludos.core.maps.points.SpawnPoint;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index spatial immuable des points d'une {@link ParsedMap}, construit une fois la carte parsée.<br /><br />
+ * <p>
+ * Chaque point est rangé sous la clé de son bloc (x, y, z compactés dans un long), ce qui permet de savoir en temps
+ * constant si un bloc est un point. Les points sont aussi rangés dans une grille de colonnes de 16x16 blocs pour les
+ * recherches par rayon.<br />
+ * Le type d'un point est son nom, sauf pour les {@link SpawnPoint} dont le type est {@link #SPAWN_KIND}.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public class MapPointIndex {
+
+    /**
+     * Type des points de spawn dans l'index.
+     */
+    public static final String SPAWN_KIND = "SPAWN";
+
+    /**
+     * Taille (en blocs, puissance de deux) des cellules de la grille.
+     */
+    private static final int CELL_SHIFT = 4;
+
+    private final Map<Long, MapPoint> pointsByBlock = new HashMap<>();
+
+    private final Map<Long, List<MapPoint>> pointsByCell = new HashMap<>();
+
+    private final Map<String, List<MapPoint>> pointsByKind = new HashMap<>();
+
+    /**
+     * Construit l'index à partir des points d'une carte.
+     * @param points Points de la carte
+     */
+    public MapPointIndex(Collection<? extends MapPoint> points) {
+        for (MapPoint point : points) {
+            Location location = point.getLocation();
+            pointsByBlock.put(blockKey(location.getBlockX(), location.getBlockY(), location.getBlockZ()), point);
+            pointsByCell.computeIfAbsent(
+                    cellKey(location.getBlockX() >> CELL_SHIFT, location.getBlockZ() >> CELL_SHIFT),
+                    k -> new ArrayList<>()
+            ).add(point);
+            pointsByKind.computeIfAbsent(getKind(point), k -> new ArrayList<>()).add(point);
+        }
+    }
+
+    /**
+     * Compacte les coordonnées d'un bloc dans un long (26 bits pour x et z, 12 bits pour y).
+     */
+    public static long blockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Récupère le type d'un point dans l'index.
+     * @param point Point
+     * @return Nom du point, ou {@link #SPAWN_KIND} pour un point de spawn.
+     */
+    public static String getKind(MapPoint point) {
+        return point instanceof SpawnPoint ? SPAWN_KIND : point.getName();
+    }
+
+    /**
+     * Récupère le point défini sur un bloc.
+     * @param x Coordonnée X du bloc
+     * @param y Coordonnée Y du bloc
+     * @param z Coordonnée Z du bloc
+     * @return Le point, ou null si le bloc n'est pas un point.
+     */
+    public MapPoint getPointAt(int x, int y, int z) {
+        return pointsByBlock.get(blockKey(x, y, z));
+    }
+
+    /**
+     * Vérifie si un bloc est un point de la carte.
+     * @param x Coordonnée X du bloc
+     * @param y Coordonnée Y du bloc
+     * @param z Coordonnée Z du bloc
+     * @return Vrai si le bloc est un point.
+     */
+    public boolean isPointAt(int x, int y, int z) {
+        return pointsByBlock.containsKey(blockKey(x, y, z));
+    }
+
+    /**
+     * Récupère les points à moins d'une certaine distance d'une location.
+     * @param center Centre de la recherche
+     * @param radius Rayon de la recherche, en blocs
+     * @return Points dans le rayon
+     */
+    public List<MapPoint> pointsWithin(Location center, double radius) {
+        List<MapPoint> result = new ArrayList<>();
+        double radiusSquared = radius * radius;
+        int minCellX = (int) Math.floor(center.getX() - radius) >> CELL_SHIFT;
+        int maxCellX = (int) Math.floor(center.getX() + radius) >> CELL_SHIFT;
+        int minCellZ = (int) Math.floor(center.getZ() - radius) >> CELL_SHIFT;
+        int maxCellZ = (int) Math.floor(center.getZ() + radius) >> CELL_SHIFT;
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                List<MapPoint> cell = pointsByCell.get(cellKey(cellX, cellZ));
+                if (cell == null) continue;
+                for (MapPoint point : cell) {
+                    if (distanceSquared(point.getLocation(), center) <= radiusSquared) {
+                        result.add(point);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Récupère le point d'un type le plus proche d'une location.
+     * @param kind     Type du point
+     * @param location Location de référence
+     * @return Le point le plus proche, ou null si la carte n'a aucun point de ce type.
+     */
+    public MapPoint nearest(String kind, Location location) {
+        MapPoint nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (MapPoint point : pointsByKind.getOrDefault(kind, Collections.emptyList())) {
+            double distance = distanceSquared(point.getLocation(), location);
+            if (distance < nearestDistance) {
+                nearest = point;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    private static double distanceSquared(Location a, Location b) {
+        double dx = a.getX() - b.getX();
+        double dy = a.getY() - b.getY();
+        double dz = a.getZ() - b.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+}
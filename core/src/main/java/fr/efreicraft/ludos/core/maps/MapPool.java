@@ -0,0 +1,351 @@
+package fr.efreicraft.ludos.core.maps;
+
+import fr.efreicraft.ludos.core.Core;
+import fr.efreicraft.ludos.core.games.GameManager;
+import fr.efreicraft.ludos.core.games.interfaces.Game;
+import fr.efreicraft.ludos.core.maps.exceptions.MapLoadingException;
+import fr.efreicraft.ludos.core.maps.interfaces.ParseMapArgs;
+import fr.efreicraft.ludos.core.utils.WorldFilesUtils;
+import fr.efreicraft.ludos.core.utils.WorldUtils;
+import org.bukkit.Bukkit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+
+/**
+ * <b>Pool de cartes préparées</b><br />
+ * Pendant qu'une partie est en cours, le pool crée et parse à l'avance des cartes du jeu actuel dans des mondes
+ * dédiés. Au chargement de la partie suivante, {@link MapManager#loadMap(String)} récupère directement une de ces
+ * cartes au lieu de coller le schematic (ou copier le dossier) et de scanner ses chunks.<br /><br />
+ * <p>
+ * Les cartes sont préparées une par une pour ne pas charger le serveur pendant la partie. Aucune préparation ne
+ * commence pendant la fin de partie ({@code ENDING}), et les étapes sur le thread principal (création du monde,
+ * fin du parsing) d'une préparation déjà lancée sont mises de côté jusqu'au retour en attente : l'effet de victoire
+ * n'est pas ralenti. Une carte encore en préparation au chargement de la partie suivante est attendue plutôt que
+ * chargée une seconde fois.<br />
+ * La taille du pool est définie par la clé {@code mapPoolSize} de la configuration, 0 désactive le pool.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public class MapPool {
+
+    /**
+     * Carte prête à être jouée.
+     * @param mapName   Nom de la carte dans le dossier du jeu
+     * @param parsedMap Carte parsée, dans son propre monde
+     */
+    private record ReadyMap(String mapName, ParsedMap parsedMap) {
+    }
+
+    private final Random random = new Random();
+
+    /**
+     * Nombre de cartes préparées par jeu.
+     */
+    private final int size;
+
+    /**
+     * Cartes prêtes, par nom de jeu.
+     */
+    private final Map<String, Deque<ReadyMap>> readyMaps = new HashMap<>();
+
+    /**
+     * Compteur utilisé pour nommer les mondes du pool.
+     */
+    private int worldCounter = 0;
+
+    /**
+     * Vrai si une carte est en cours de préparation.
+     */
+    private boolean filling = false;
+
+    /**
+     * Nom du jeu et de la carte en cours de préparation.
+     */
+    private String preparingGameName;
+    private String preparingMapName;
+
+    /**
+     * Future complétée avec la carte en cours de préparation une fois ajoutée au pool, ou avec null en cas d'échec.
+     */
+    private CompletableFuture<ParsedMap> preparing;
+
+    /**
+     * Étapes de préparation mises de côté pendant la fin de partie.
+     */
+    private final List<Runnable> deferredSteps = new ArrayList<>();
+
+    /**
+     * Exécuteur du thread principal pour les préparations du pool : pendant la fin de partie, les étapes sont mises
+     * de côté jusqu'à {@link #resumeDeferred()}.
+     */
+    private final Executor poolMainThread = runnable -> WorldFilesUtils.MAIN_THREAD.execute(() -> {
+        if (Core.get().getGameManager().getStatus() == GameManager.GameStatus.ENDING) {
+            deferredSteps.add(runnable);
+        } else {
+            runnable.run();
+        }
+    });
+
+    /**
+     * Constructeur du pool de cartes.
+     * @param size Nombre de cartes préparées par jeu.
+     */
+    public MapPool(int size) {
+        this.size = Math.max(0, size);
+    }
+
+    /**
+     * Prépare la prochaine carte du jeu actuel si le pool n'est pas plein.<br />
+     * Une fois la carte prête, la suivante est préparée tant que la partie est en cours.
+     */
+    public void fill() {
+        GameManager gameManager = Core.get().getGameManager();
+        Game game = gameManager.getCurrentGame();
+        if (filling || size == 0 || game == null || gameManager.isDraining()
+                || gameManager.getStatus() != GameManager.GameStatus.INGAME) {
+            return;
+        }
+
+        String gameName = game.getMetadata().name();
+        Deque<ReadyMap> gameMaps = readyMaps.computeIfAbsent(gameName, k -> new ArrayDeque<>());
+        if (gameMaps.size() >= size) {
+            return;
+        }
+
+        String mapName = pickMap(game, gameMaps);
+        if (mapName == null) {
+            return;
+        }
+
+        prepare(gameName, gameMaps, mapName);
+    }
+
+    /**
+     * Prépare une carte précise du jeu actuel sans changer de partie, même hors partie et au-delà de la taille du
+     * pool. Ignoré si la carte est déjà prête ou si une autre carte est en préparation.
+     * @param mapName Nom de la carte
+     * @return Vrai si la préparation a commencé ou si la carte est déjà prête.
+     */
+    public boolean prewarm(String mapName) {
+        Game game = Core.get().getGameManager().getCurrentGame();
+        if (game == null || Core.get().getMapManager().getMapType(mapName) == null) {
+            return false;
+        }
+        String gameName = game.getMetadata().name();
+        Deque<ReadyMap> gameMaps = readyMaps.computeIfAbsent(gameName, k -> new ArrayDeque<>());
+        for (ReadyMap readyMap : gameMaps) {
+            if (readyMap.mapName().equals(mapName)) {
+                return true;
+            }
+        }
+        if (filling) {
+            return mapName.equals(getPreparingMapName(gameName));
+        }
+        prepare(gameName, gameMaps, mapName);
+        return true;
+    }
+
+    /**
+     * Crée et parse une carte du jeu actuel dans un monde dédié, puis l'ajoute au pool.
+     * @param gameName Nom du jeu actuel
+     * @param gameMaps Cartes du jeu déjà prêtes
+     * @param mapName  Nom de la carte
+     */
+    private void prepare(String gameName, Deque<ReadyMap> gameMaps, String mapName) {
+        filling = true;
+        preparingGameName = gameName;
+        preparingMapName = mapName;
+        preparing = new CompletableFuture<>();
+        String worldName = mapName + "-pool" + worldCounter++;
+        Core.get().getLogger().log(Level.INFO, "Preparing map {0} in the map pool...", mapName);
+
+        CompletableFuture<ParseMapArgs> preParseMap;
+        try {
+            // Le modèle d'un schematic n'est jamais construit depuis le pool : il est laissé au chargement direct.
+            preParseMap = Core.get().getMapManager().createMapWorld(mapName, worldName, poolMainThread, false);
+        } catch (MapLoadingException e) {
+            Core.get().getLogger().log(Level.WARNING, "Unable to prepare map {0}: {1}", new Object[]{mapName, e.getMessage()});
+            finishPreparing(null);
+            return;
+        }
+
+        preParseMap.thenAcceptAsync(args -> {
+            if (args == null) {
+                finishPreparing(null);
+                return;
+            }
+            Core.get().getMapManager().parseMapWorld(mapName, args, poolMainThread).whenComplete((parsedMap, throwable) -> {
+                if (throwable != null) {
+                    Core.get().getLogger().log(Level.WARNING, "Unable to parse map {0} in the map pool: {1}",
+                            new Object[]{mapName, MapManager.getLoadingErrorMessage(throwable)});
+                    WorldUtils.deleteWorld(args.world);
+                    finishPreparing(null);
+                    return;
+                }
+                Game currentGame = Core.get().getGameManager().getCurrentGame();
+                if (currentGame == null || !currentGame.getMetadata().name().equals(gameName)
+                        || Core.get().getGameManager().isDraining()) {
+                    WorldUtils.deleteWorld(parsedMap.getWorld());
+                    finishPreparing(null);
+                    return;
+                }
+                gameMaps.add(new ReadyMap(mapName, parsedMap));
+                Core.get().getLogger().log(Level.INFO, "Map {0} is ready in the map pool.", mapName);
+                finishPreparing(parsedMap);
+                Bukkit.getScheduler().runTask(Core.get().getPlugin(), this::fill);
+            });
+        }, poolMainThread).exceptionally(throwable -> {
+            Core.get().getLogger().log(Level.WARNING, "Unable to prepare map {0}: {1}", new Object[]{mapName, MapManager.getLoadingErrorMessage(throwable)});
+            finishPreparing(null);
+            return null;
+        });
+    }
+
+    /**
+     * Reprend les étapes de préparation mises de côté pendant la fin de partie. Appelé au retour en attente.
+     */
+    public void resumeDeferred() {
+        List<Runnable> steps = new ArrayList<>(deferredSteps);
+        deferredSteps.clear();
+        for (Runnable step : steps) {
+            step.run();
+        }
+    }
+
+    /**
+     * Termine la préparation en cours et prévient ceux qui l'attendent.
+     * @param parsedMap Carte ajoutée au pool, ou null si la préparation a échoué.
+     */
+    private void finishPreparing(ParsedMap parsedMap) {
+        CompletableFuture<ParsedMap> future = preparing;
+        filling = false;
+        preparing = null;
+        preparingGameName = null;
+        preparingMapName = null;
+        if (future != null) {
+            future.complete(parsedMap);
+        }
+    }
+
+    /**
+     * Récupère le nom de la carte en cours de préparation pour un jeu.
+     * @param gameName Nom du jeu
+     * @return Nom de la carte, ou null si aucune carte de ce jeu n'est en préparation.
+     */
+    public String getPreparingMapName(String gameName) {
+        return gameName.equals(preparingGameName) ? preparingMapName : null;
+    }
+
+    /**
+     * Récupère la préparation en cours d'une carte.<br />
+     * La future est complétée sur le thread principal, une fois la carte ajoutée au pool : elle peut alors être
+     * récupérée avec {@link #take(String, String)}.
+     * @param gameName Nom du jeu
+     * @param mapName  Nom de la carte
+     * @return Future de la préparation, ou null si cette carte n'est pas en préparation.
+     */
+    public CompletableFuture<ParsedMap> getPreparing(String gameName, String mapName) {
+        if (!gameName.equals(preparingGameName) || !mapName.equals(preparingMapName)) {
+            return null;
+        }
+        return preparing;
+    }
+
+    /**
+     * Choisit une carte du jeu qui n'est ni en cours de jeu, ni déjà dans le pool.
+     * @param game     Jeu actuel
+     * @param gameMaps Cartes du jeu déjà prêtes
+     * @return Nom de la carte, ou null si aucune carte n'est disponible.
+     */
+    private String pickMap(Game game, Deque<ReadyMap> gameMaps) {
+        List<String> candidates = new ArrayList<>(game.getMaps());
+        for (ReadyMap readyMap : gameMaps) {
+            candidates.remove(readyMap.mapName());
+        }
+        // Le monde d'une carte du pool ne porte pas son nom : on compare le nom de la carte source.
+        String currentMapName = Core.get().getMapManager().getCurrentMapName();
+        if (candidates.size() > 1 && currentMapName != null) {
+            candidates.remove(currentMapName);
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(random.nextInt(candidates.size()));
+    }
+
+    /**
+     * Récupère le nom d'une carte prête pour un jeu.
+     * @param gameName Nom du jeu
+     * @return Nom de la carte, ou null si aucune carte n'est prête.
+     */
+    public String getReadyMapName(String gameName) {
+        Deque<ReadyMap> gameMaps = readyMaps.get(gameName);
+        if (gameMaps == null || gameMaps.isEmpty()) {
+            return null;
+        }
+        return gameMaps.peekFirst().mapName();
+    }
+
+    /**
+     * Retire du pool une carte prête.
+     * @param gameName Nom du jeu
+     * @param mapName  Nom de la carte
+     * @return La carte parsée, ou null si elle n'est pas dans le pool.
+     */
+    public ParsedMap take(String gameName, String mapName) {
+        Deque<ReadyMap> gameMaps = readyMaps.get(gameName);
+        if (gameMaps == null) {
+            return null;
+        }
+        Iterator<ReadyMap> iterator = gameMaps.iterator();
+        while (iterator.hasNext()) {
+            ReadyMap readyMap = iterator.next();
+            if (readyMap.mapName().equals(mapName)) {
+                iterator.remove();
+                return readyMap.parsedMap();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Décharge les cartes du pool préparées pour les autres jeux.
+     * @param gameName Nom du jeu dont les cartes sont gardées
+     */
+    public void retainGame(String gameName) {
+        Iterator<Map.Entry<String, Deque<ReadyMap>>> iterator = readyMaps.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Deque<ReadyMap>> entry = iterator.next();
+            if (!entry.getKey().equals(gameName)) {
+                for (ReadyMap readyMap : entry.getValue()) {
+                    WorldUtils.deleteWorld(readyMap.parsedMap().getWorld());
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Décharge toutes les cartes du pool.
+     */
+    public void clear() {
+        for (Deque<ReadyMap> gameMaps : readyMaps.values()) {
+            for (ReadyMap readyMap : gameMaps) {
+                WorldUtils.deleteWorld(readyMap.parsedMap().getWorld());
+            }
+        }
+        readyMaps.clear();
+    }
+
+}
@@ -0,0 +1,180 @@
+package fr.efreicraft.ludos.core.maps;
+
+import fr.efreicraft.ludos.core.maps.interfaces.MapPoint;
+import fr.efreicraft.ludos.core.players.LudosPlayer;
+import org.bukkit.Location;
+
+import java.util.function.Predicate;
+
+/**
+ * Région d'une carte surveillée par le {@link RegionTriggerService}.<br /><br />
+ * <p>
+ * Trois formes sont disponibles :
+ * <ul>
+ *     <li>{@link #box} : un pavé, par exemple une zone de capture autour d'un {@link MapPoint}.</li>
+ *     <li>{@link #below} : tout ce qui est sous un Y, pour les zones de mort.</li>
+ *     <li>{@link #outside} : tout ce qui est hors des limites X/Z de la carte.</li>
+ * </ul>
+ * Seuls les pavés sont rangés par chunk, les deux autres formes sont testées à chaque changement de bloc.<br />
+ * Une condition sur le joueur peut être ajoutée avec {@link #when(Predicate)} : elle est vérifiée à chaque mise à
+ * jour, y compris pour un joueur déjà dans la région.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public final class MapRegion {
+
+    /**
+     * Forme de la région.
+     */
+    enum Shape {
+        BOX,
+        BELOW,
+        OUTSIDE
+    }
+
+    private final Shape shape;
+
+    private final double minX;
+    private final double minY;
+    private final double minZ;
+    private final double maxX;
+    private final double maxY;
+    private final double maxZ;
+
+    /**
+     * Condition sur le joueur pour qu'il soit dans la région, null si aucune.
+     */
+    private final Predicate<LudosPlayer> condition;
+
+    private MapRegion(Shape shape, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this(shape, minX, minY, minZ, maxX, maxY, maxZ, null);
+    }
+
+    private MapRegion(Shape shape, double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                      Predicate<LudosPlayer> condition) {
+        this.shape = shape;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        this.condition = condition;
+    }
+
+    /**
+     * Crée une région en forme de pavé entre deux locations.
+     * @param first  Premier coin du pavé
+     * @param second Second coin du pavé
+     * @return La région
+     */
+    public static MapRegion box(Location first, Location second) {
+        return new MapRegion(
+                Shape.BOX,
+                Math.min(first.getX(), second.getX()),
+                Math.min(first.getY(), second.getY()),
+                Math.min(first.getZ(), second.getZ()),
+                Math.max(first.getX(), second.getX()),
+                Math.max(first.getY(), second.getY()),
+                Math.max(first.getZ(), second.getZ())
+        );
+    }
+
+    /**
+     * Crée une région en forme de pavé centrée sur un point de la carte.
+     * @param point  Point de la carte
+     * @param radius Demi-côté du pavé, en blocs
+     * @return La région
+     */
+    public static MapRegion around(MapPoint point, double radius) {
+        Location center = point.getLocation();
+        return new MapRegion(
+                Shape.BOX,
+                center.getX() - radius, center.getY() - radius, center.getZ() - radius,
+                center.getX() + radius, center.getY() + radius, center.getZ() + radius
+        );
+    }
+
+    /**
+     * Crée une zone de mort : la région contient tout ce qui est strictement sous un Y.
+     * @param y Y de la zone de mort
+     * @return La région
+     */
+    public static MapRegion below(double y) {
+        return new MapRegion(Shape.BELOW, 0, y, 0, 0, y, 0);
+    }
+
+    /**
+     * Crée une région contenant tout ce qui est hors des limites X/Z d'une carte.
+     * @param bounds Limites de la carte
+     * @param margin Marge autorisée autour de la carte, en blocs
+     * @return La région
+     */
+    public static MapRegion outside(MapBounds bounds, double margin) {
+        return new MapRegion(
+                Shape.OUTSIDE,
+                bounds.minX() - margin, bounds.minY(), bounds.minZ() - margin,
+                bounds.maxX() + margin, bounds.maxY(), bounds.maxZ() + margin
+        );
+    }
+
+    /**
+     * Crée la même région, limitée aux joueurs qui vérifient une condition. Un joueur qui cesse de la vérifier sort
+     * de la région, et y entre dès qu'il la vérifie de nouveau, par exemple après un changement de mode de jeu.
+     * @param condition Condition sur le joueur
+     * @return La région
+     */
+    public MapRegion when(Predicate<LudosPlayer> condition) {
+        return new MapRegion(shape, minX, minY, minZ, maxX, maxY, maxZ, condition);
+    }
+
+    /**
+     * Vérifie si un joueur à une position est dans la région : la position doit être dans la région, et le joueur
+     * vérifier la condition de la région s'il y en a une.
+     * @param player Joueur
+     * @param x      Coordonnée X du joueur
+     * @param y      Coordonnée Y du joueur
+     * @param z      Coordonnée Z du joueur
+     * @return Vrai si le joueur est dans la région.
+     */
+    public boolean contains(LudosPlayer player, double x, double y, double z) {
+        return contains(x, y, z) && (condition == null || condition.test(player));
+    }
+
+    /**
+     * Vérifie si une position est dans la région.
+     * @param x Coordonnée X
+     * @param y Coordonnée Y
+     * @param z Coordonnée Z
+     * @return Vrai si la position est dans la région.
+     */
+    public boolean contains(double x, double y, double z) {
+        return switch (shape) {
+            case BOX -> x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+            case BELOW -> y < minY;
+            case OUTSIDE -> x < minX || x > maxX || z < minZ || z > maxZ;
+        };
+    }
+
+    Shape getShape() {
+        return shape;
+    }
+
+    int getMinChunkX() {
+        return (int) Math.floor(minX) >> 4;
+    }
+
+    int getMaxChunkX() {
+        return (int) Math.floor(maxX) >> 4;
+    }
+
+    int getMinChunkZ() {
+        return (int) Math.floor(minZ) >> 4;
+    }
+
+    int getMaxChunkZ() {
+        return (int) Math.floor(maxZ) >> 4;
+    }
+
+}
@@ -0,0 +1,191 @@
+package fr.efreicraft.ludos.core.maps;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import fr.efreicraft.ludos.core.Core;
+import fr.efreicraft.ludos.core.maps.interfaces.ParseMapArgs;
+import fr.efreicraft.ludos.core.utils.WorldFilesUtils;
+import org.apache.commons.io.FileUtils;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * <b>Mondes modèles des cartes schematic</b><br />
+ * Coller un schematic avec WorldEdit rejoue chaque bloc sur le thread principal, à chaque partie. À la place, le
+ * schematic est collé une seule fois dans un monde dont on garde les fichiers de région
+ * ({@code game_maps/<Jeu>/<carte>.ludostemplate}). Les parties suivantes copient ces fichiers dans le dossier du
+ * nouveau monde avant de le charger.<br /><br />
+ * <p>
+ * Les fichiers sont copiés et non liés : le serveur réécrit les fichiers de région en place, un lien physique
+ * modifierait le modèle.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public class MapTemplates {
+
+    /**
+     * Extension des dossiers de modèles.
+     */
+    public static final String TEMPLATE_EXTENSION = ".ludostemplate";
+
+    /**
+     * Dossiers du monde conservés dans le modèle.
+     */
+    private static final String[] TEMPLATE_FOLDERS = {"region", "entities", "poi"};
+
+    /**
+     * Fichier décrivant le modèle.
+     */
+    private static final String STAMP_FILE = "template.dat";
+
+    /**
+     * Signature des fichiers de description ("LDTP").
+     */
+    private static final int MAGIC = 0x4C445450;
+
+    private static final short VERSION = 1;
+
+    private MapTemplates() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Modèle d'une carte, avec les limites trouvées lors du collage du schematic.
+     * @param firstBoundary Premier point de délimitation
+     * @param lastBoundary  Dernier point de délimitation
+     */
+    public record MapTemplate(BlockVector3 firstBoundary, BlockVector3 lastBoundary) {
+
+        /**
+         * Construit les arguments de parsing de la carte dans un monde cloné depuis le modèle.
+         * @param world Monde cloné
+         * @return Arguments de parsing
+         */
+        public ParseMapArgs toParseMapArgs(World world) {
+            return new ParseMapArgs(
+                    new Location(world, firstBoundary.getX(), firstBoundary.getY(), firstBoundary.getZ()),
+                    new Location(world, lastBoundary.getX(), lastBoundary.getY(), lastBoundary.getZ()),
+                    world
+            );
+        }
+    }
+
+    /**
+     * Récupère le dossier du modèle associé à un schematic.
+     * @param schematic Fichier schematic de la carte.
+     * @return Dossier du modèle.
+     */
+    private static File getTemplateFolder(File schematic) {
+        String name = schematic.getName();
+        if (name.endsWith(".schem")) {
+            name = name.substring(0, name.length() - ".schem".length());
+        }
+        return new File(schematic.getParentFile(), name + TEMPLATE_EXTENSION);
+    }
+
+    /**
+     * Lit le modèle d'un schematic, s'il existe et correspond toujours au fichier.
+     *
+     * @param schematic Fichier schematic de la carte.
+     * @return Le modèle, ou null s'il est absent, périmé ou illisible.
+     */
+    public static MapTemplate load(File schematic) {
+        File stampFile = new File(getTemplateFolder(schematic), STAMP_FILE);
+        if (!stampFile.isFile()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(stampFile.toPath())))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION
+                    || in.readLong() != schematic.length() || in.readLong() != schematic.lastModified()) {
+                return null;
+            }
+            return new MapTemplate(
+                    BlockVector3.at(in.readInt(), in.readInt(), in.readInt()),
+                    BlockVector3.at(in.readInt(), in.readInt(), in.readInt())
+            );
+        } catch (IOException e) {
+            Core.get().getLogger().log(Level.WARNING, "Ignoring unreadable map template {0}: {1}", new Object[]{stampFile.getParentFile().getName(), e.getMessage()});
+            return null;
+        }
+    }
+
+    /**
+     * Enregistre le modèle d'un schematic à partir du dossier d'un monde déchargé dans lequel il a été collé.
+     *
+     * @param schematic   Fichier schematic de la carte.
+     * @param worldFolder Dossier du monde, déchargé et sauvegardé.
+     * @param args        Arguments de parsing trouvés lors du collage.
+     * @return Le modèle enregistré.
+     * @throws IOException Si les fichiers du monde ne peuvent pas être copiés.
+     */
+    public static MapTemplate save(File schematic, File worldFolder, ParseMapArgs args) throws IOException {
+        File templateFolder = getTemplateFolder(schematic);
+        if (templateFolder.exists()) {
+            FileUtils.deleteDirectory(templateFolder);
+        }
+
+        for (String folder : TEMPLATE_FOLDERS) {
+            File source = new File(worldFolder, folder);
+            if (source.isDirectory()) {
+                FileUtils.copyDirectory(source, new File(templateFolder, folder));
+            }
+        }
+
+        MapTemplate template = new MapTemplate(
+                BlockVector3.at(args.firstBoundary.getBlockX(), args.firstBoundary.getBlockY(), args.firstBoundary.getBlockZ()),
+                BlockVector3.at(args.lastBoundary.getBlockX(), args.lastBoundary.getBlockY(), args.lastBoundary.getBlockZ())
+        );
+
+        // Le fichier de description est écrit en dernier : un modèle incomplet n'est jamais considéré comme valide.
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(new File(templateFolder, STAMP_FILE).toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(schematic.length());
+            out.writeLong(schematic.lastModified());
+            writeVector(out, template.firstBoundary());
+            writeVector(out, template.lastBoundary());
+        }
+        return template;
+    }
+
+    /**
+     * Copie en arrière-plan les fichiers du modèle d'un schematic dans le dossier d'un monde qui n'est pas encore chargé.
+     *
+     * @param schematic   Fichier schematic de la carte.
+     * @param worldFolder Dossier du monde à créer.
+     * @return Future complétée quand les fichiers sont copiés.
+     */
+    public static CompletableFuture<Void> cloneInto(File schematic, File worldFolder) {
+        WorldFilesUtils.deleteDirectory(worldFolder.toPath());
+
+        File templateFolder = getTemplateFolder(schematic);
+        List<CompletableFuture<Void>> copies = new ArrayList<>();
+        for (String folder : TEMPLATE_FOLDERS) {
+            File source = new File(templateFolder, folder);
+            if (source.isDirectory()) {
+                copies.add(WorldFilesUtils.copyDirectory(source.toPath(), new File(worldFolder, folder).toPath()));
+            }
+        }
+        return CompletableFuture.allOf(copies.toArray(new CompletableFuture[0]));
+    }
+
+    private static void writeVector(DataOutputStream out, BlockVector3 vector) throws IOException {
+        out.writeInt(vector.getX());
+        out.writeInt(vector.getY());
+        out.writeInt(vector.getZ());
+    }
+
+}
@@ -5,11 +5,13 @@ import fr.efreicraft.ludos.core.maps.points.GamePoint;
 import fr.efreicraft.ludos.core.maps.points.GlobalPoint;
 import fr.efreicraft.ludos.core.maps.points.SpawnPoint;
 import fr.efreicraft.ludos.core.teams.Team;
+import fr.efreicraft.ludos.core.teams.TeamManager;
 import org.bukkit.Location;
 import org.bukkit.World;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -57,11 +59,26 @@ public class ParsedMap {
      */
     private final HashMap<Team, ArrayList<SpawnPoint>> spawnPoints;
 
+    /**
+     * Blocs marqueurs (points et panneau d'informations) retirés de la carte une fois parsée.
+     */
+    private final List<Location> markerLocations;
+
     /**
      * Booléen pour savoir si la carte est valide
      */
     private boolean parsed = false;
 
+    /**
+     * Limites de la carte, figées quand la carte est marquée comme parsée.
+     */
+    private MapBounds bounds = null;
+
+    /**
+     * Index spatial des points, construit quand la carte est marquée comme parsée.
+     */
+    private MapPointIndex pointIndex = new MapPointIndex(List.of());
+
     /**
      * Constructeur d'une carte parsée.
      * @param world {@link World} de la carte.
@@ -70,6 +87,7 @@ public class ParsedMap {
         this.gamePoints = new HashMap<>();
         this.globalPoints = new HashMap<>();
         this.spawnPoints = new HashMap<>();
+        this.markerLocations = new ArrayList<>();
         this.world = world;
     }
 
@@ -97,6 +115,42 @@ public class ParsedMap {
         }
     }
 
+    /**
+     * Rattache les points de spawn aux équipes actuellement chargées, selon leur couleur.<br />
+     * Utile pour une carte parsée avant le chargement des équipes de la partie, voir {@link MapPool}.
+     * @param teamManager Gestionnaire des équipes chargées.
+     */
+    public void rebindSpawnPoints(TeamManager teamManager) {
+        List<SpawnPoint> points = new ArrayList<>();
+        spawnPoints.values().forEach(points::addAll);
+        spawnPoints.clear();
+        for (SpawnPoint point : points) {
+            Team team = teamManager.getTeamByDyeColor(point.getTeam().getColor().dyeColor());
+            if (team != null) {
+                addPoint(point.withTeam(team));
+            }
+        }
+        if (parsed) {
+            buildPointIndex();
+        }
+    }
+
+    /**
+     * Ajoute un bloc marqueur à retirer de la carte.
+     * @param location Location du bloc marqueur.
+     */
+    public void addMarkerLocation(Location location) {
+        markerLocations.add(location);
+    }
+
+    /**
+     * Retourne les blocs marqueurs de la carte.
+     * @return Liste des locations des blocs marqueurs.
+     */
+    public List<Location> getMarkerLocations() {
+        return markerLocations;
+    }
+
     /**
      * Change le nom de la carte.
      * @param name Nouveau nom de la carte.
@@ -119,6 +173,40 @@ public class ParsedMap {
      */
     public void setParsed(boolean parsed) {
         this.parsed = parsed;
+        if (parsed) {
+            bounds = computeBounds();
+            buildPointIndex();
+        }
+    }
+
+    /**
+     * Calcule les limites de la carte à partir de ses points BOUNDARY.
+     * @return Limites de la carte.
+     */
+    private MapBounds computeBounds() {
+        return MapBounds.of(
+                globalPoints.get("BOUNDARY").get(0).getLocation(),
+                globalPoints.get("BOUNDARY").get(1).getLocation()
+        );
+    }
+
+    /**
+     * Retourne les limites de la carte. Elles sont figées une fois la carte parsée.
+     * @return Limites de la carte.
+     */
+    public MapBounds getBounds() {
+        return bounds != null ? bounds : computeBounds();
+    }
+
+    /**
+     * Reconstruit l'index spatial à partir des points actuels de la carte.
+     */
+    private void buildPointIndex() {
+        List<MapPoint> points = new ArrayList<>();
+        globalPoints.values().forEach(points::addAll);
+        gamePoints.values().forEach(points::addAll);
+        spawnPoints.values().forEach(points::addAll);
+        pointIndex = new MapPointIndex(points);
     }
 
     /**
@@ -196,14 +284,7 @@ public class ParsedMap {
         if (globalPoints.containsKey("MIDDLE"))
             return globalPoints.get("MIDDLE").get(0).getLocation();
 
-        Location first = globalPoints.get("BOUNDARY").get(0).getLocation();
-        Location second = globalPoints.get("BOUNDARY").get(1).getLocation();
-
-        double x = (first.getX() + second.getX()) / 2;
-        double y = (first.getY() + second.getY()) / 2;
-        double z = (first.getZ() + second.getZ()) / 2;
-
-        return new Location(world, x, y, z);
+        return getBounds().middle();
     }
 
     /**
@@ -211,14 +292,7 @@ public class ParsedMap {
      * @return Point Y le plus bas de la carte.
      */
     public Location getLowestBoundary() {
-        Location first = globalPoints.get("BOUNDARY").get(0).getLocation();
-        Location second = globalPoints.get("BOUNDARY").get(1).getLocation();
-
-        if (first.getY() < second.getY()) {
-            return first;
-        } else {
-            return second;
-        }
+        return getBounds().lowestBoundary();
     }
 
     /**
@@ -227,11 +301,49 @@ public class ParsedMap {
      * @return Booléen de check.
      */
     public boolean isLocationWithinTheMapXandZ(Location location) {
-        Location first = globalPoints.get("BOUNDARY").get(0).getLocation();
-        Location second = globalPoints.get("BOUNDARY").get(1).getLocation();
+        return getBounds().containsXZ(location.getX(), location.getZ(), OUT_OF_BOUNDS);
+    }
 
-        return location.getX() >= Math.min(first.getX(), second.getX()) - OUT_OF_BOUNDS && location.getX() <= Math.max(first.getX(), second.getX()) + OUT_OF_BOUNDS
-                && location.getZ() >= Math.min(first.getZ(), second.getZ()) - OUT_OF_BOUNDS && location.getZ() <= Math.max(first.getZ(), second.getZ()) + OUT_OF_BOUNDS;
+    /**
+     * Récupère le point défini sur un bloc.
+     * @param x Coordonnée X du bloc
+     * @param y Coordonnée Y du bloc
+     * @param z Coordonnée Z du bloc
+     * @return Le point, ou null si le bloc n'est pas un point.
+     */
+    public MapPoint getPointAt(int x, int y, int z) {
+        return pointIndex.getPointAt(x, y, z);
+    }
+
+    /**
+     * Vérifie si un bloc est un point de la carte.
+     * @param x Coordonnée X du bloc
+     * @param y Coordonnée Y du bloc
+     * @param z Coordonnée Z du bloc
+     * @return Vrai si le bloc est un point.
+     */
+    public boolean isPointAt(int x, int y, int z) {
+        return pointIndex.isPointAt(x, y, z);
+    }
+
+    /**
+     * Récupère les points de la carte à moins d'une certaine distance d'une location.
+     * @param center Centre de la recherche
+     * @param radius Rayon de la recherche, en blocs
+     * @return Points dans le rayon
+     */
+    public List<MapPoint> pointsWithin(Location center, double radius) {
+        return pointIndex.pointsWithin(center, radius);
+    }
+
+    /**
+     * Récupère le point d'un type le plus proche d'une location.
+     * @param kind     Type du point (nom du point, ou {@link MapPointIndex#SPAWN_KIND})
+     * @param location Location de référence
+     * @return Le point le plus proche, ou null si la carte n'a aucun point de ce type.
+     */
+    public MapPoint nearest(String kind, Location location) {
+        return pointIndex.nearest(kind, location);
     }
 
 }
@@ -0,0 +1,237 @@
+package fr.efreicraft.ludos.core.maps;
+
+import fr.efreicraft.ludos.core.games.GameEventBus;
+import fr.efreicraft.ludos.core.games.GameManager;
+import fr.efreicraft.ludos.core.games.runnables.PositionSampler;
+import fr.efreicraft.ludos.core.maps.interfaces.IRegionCallback;
+import fr.efreicraft.ludos.core.players.LudosPlayer;
+import org.bukkit.Location;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <b>Déclencheurs de régions</b><br />
+ * Les jeux déclarent une fois leurs régions ({@link MapRegion}) avec des callbacks d'entrée et de sortie, au lieu
+ * d'écouter eux-mêmes {@link PlayerMoveEvent}. Un unique handler, enregistré sur le {@link GameEventBus} pour les
+ * joueurs jouants en jeu, vérifie les régions quand un joueur change de bloc.<br /><br />
+ * <p>
+ * Les pavés sont rangés par chunk : seuls ceux du chunk de destination sont testés. Les zones de mort et les régions
+ * hors limites couvrent toute la carte et sont testées à chaque fois, ce ne sont que des comparaisons. La condition
+ * d'une région ({@link MapRegion#when}) est vérifiée à chaque mise à jour, même pour un joueur déjà dedans.<br />
+ * Les régions sont retirées au déchargement de la carte.<br /><br />
+ * <p>
+ * Si le jeu définit {@link fr.efreicraft.ludos.core.games.annotations.GameRules#positionSamplingPeriod()}, les
+ * évènements de déplacement sont ignorés et un {@link PositionSampler} vérifie les positions de tous les joueurs
+ * toutes les N ticks.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public class RegionTriggerService {
+
+    /**
+     * Au-delà de ce nombre de chunks, un pavé n'est pas indexé et est testé à chaque changement de bloc.
+     */
+    private static final int MAX_INDEXED_CHUNKS = 256;
+
+    /**
+     * Région enregistrée et ses callbacks.
+     * @param region  Région
+     * @param onEnter Callback d'entrée, peut être null
+     * @param onLeave Callback de sortie, peut être null
+     */
+    private record Trigger(MapRegion region, IRegionCallback onEnter, IRegionCallback onLeave) {
+    }
+
+    /**
+     * Régions testées à chaque changement de bloc.
+     */
+    private final List<Trigger> globalTriggers = new ArrayList<>();
+
+    /**
+     * Pavés indexés par chunk.
+     */
+    private final Map<Long, List<Trigger>> triggersByChunk = new HashMap<>();
+
+    /**
+     * Régions dans lesquelles se trouve chaque joueur.
+     */
+    private final Map<LudosPlayer, Set<Trigger>> playerTriggers = new HashMap<>();
+
+    /**
+     * Échantillonneur de positions actif, null si les régions sont vérifiées à chaque déplacement.
+     */
+    private PositionSampler sampler;
+
+    /**
+     * Enregistre le handler de déplacement sur le bus d'évènements.
+     * @param eventBus Bus d'évènements par phase
+     */
+    public void registerHandlers(GameEventBus eventBus) {
+        eventBus.register(this, PlayerMoveEvent.class, EnumSet.of(GameManager.GameStatus.INGAME),
+                GameEventBus.PlayerRole.PLAYING, this::onPlayerMove);
+    }
+
+    /**
+     * Enregistre une région.
+     * @param region  Région
+     * @param onEnter Callback appelé quand un joueur entre dans la région, peut être null
+     * @param onLeave Callback appelé quand un joueur sort de la région, peut être null
+     * @return La région, pour pouvoir la retirer avec {@link #unregister(MapRegion)}
+     */
+    public MapRegion register(MapRegion region, IRegionCallback onEnter, IRegionCallback onLeave) {
+        Trigger trigger = new Trigger(region, onEnter, onLeave);
+        if (region.getShape() != MapRegion.Shape.BOX) {
+            globalTriggers.add(trigger);
+            return region;
+        }
+
+        long chunks = (long) (region.getMaxChunkX() - region.getMinChunkX() + 1) * (region.getMaxChunkZ() - region.getMinChunkZ() + 1);
+        if (chunks > MAX_INDEXED_CHUNKS) {
+            globalTriggers.add(trigger);
+            return region;
+        }
+        for (int chunkX = region.getMinChunkX(); chunkX <= region.getMaxChunkX(); chunkX++) {
+            for (int chunkZ = region.getMinChunkZ(); chunkZ <= region.getMaxChunkZ(); chunkZ++) {
+                triggersByChunk.computeIfAbsent(chunkKey(chunkX, chunkZ), k -> new ArrayList<>()).add(trigger);
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Retire une région, sans appeler ses callbacks de sortie.
+     * @param region Région à retirer
+     */
+    public void unregister(MapRegion region) {
+        globalTriggers.removeIf(trigger -> trigger.region() == region);
+        Iterator<List<Trigger>> iterator = triggersByChunk.values().iterator();
+        while (iterator.hasNext()) {
+            List<Trigger> triggers = iterator.next();
+            triggers.removeIf(trigger -> trigger.region() == region);
+            if (triggers.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        for (Set<Trigger> triggers : playerTriggers.values()) {
+            triggers.removeIf(trigger -> trigger.region() == region);
+        }
+    }
+
+    /**
+     * Retire toutes les régions. Appelé au déchargement de la carte.
+     */
+    public void clear() {
+        stopSampling();
+        globalTriggers.clear();
+        triggersByChunk.clear();
+        playerTriggers.clear();
+    }
+
+    /**
+     * Vérifie les régions toutes les N ticks au lieu de chaque déplacement, jusqu'à la fin de la partie.
+     * @param period Période en ticks
+     */
+    public void startSampling(int period) {
+        stopSampling();
+        sampler = new PositionSampler(this, period);
+    }
+
+    /**
+     * Arrête l'échantillonnage des positions : les régions sont de nouveau vérifiées à chaque déplacement.
+     */
+    public void stopSampling() {
+        if (sampler != null && !sampler.isCancelled()) {
+            sampler.cancel();
+        }
+        sampler = null;
+    }
+
+    /**
+     * Vérifie si aucune région n'est enregistrée.
+     * @return Vrai si aucune région n'est enregistrée.
+     */
+    public boolean isEmpty() {
+        return globalTriggers.isEmpty() && triggersByChunk.isEmpty();
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Met à jour les régions d'un joueur jouant qui a changé de bloc.
+     * @param event  Evenement Bukkit
+     * @param player Joueur qui se déplace
+     */
+    private void onPlayerMove(PlayerMoveEvent event, LudosPlayer player) {
+        if (!event.hasChangedBlock() || isEmpty() || (sampler != null && !sampler.isCancelled())) {
+            return;
+        }
+        Location to = event.getTo();
+        update(player, to.getX(), to.getY(), to.getZ());
+    }
+
+    /**
+     * Met à jour les régions d'un joueur à partir de sa position, et appelle les callbacks d'entrée et de sortie.
+     * @param player Joueur
+     * @param x      Coordonnée X du joueur
+     * @param y      Coordonnée Y du joueur
+     * @param z      Coordonnée Z du joueur
+     */
+    public void update(LudosPlayer player, double x, double y, double z) {
+        Set<Trigger> inside = playerTriggers.computeIfAbsent(player, k -> new HashSet<>());
+
+        List<Trigger> left = null;
+        Iterator<Trigger> iterator = inside.iterator();
+        while (iterator.hasNext()) {
+            Trigger trigger = iterator.next();
+            if (!trigger.region().contains(player, x, y, z)) {
+                iterator.remove();
+                if (left == null) left = new ArrayList<>();
+                left.add(trigger);
+            }
+        }
+
+        List<Trigger> entered = enter(globalTriggers, inside, player, x, y, z, null);
+        entered = enter(
+                triggersByChunk.getOrDefault(chunkKey((int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4), Collections.emptyList()),
+                inside, player, x, y, z, entered
+        );
+
+        // Les callbacks sont appelés une fois l'état du joueur à jour : ils peuvent tuer ou téléporter le joueur.
+        if (left != null) {
+            for (Trigger trigger : left) {
+                if (trigger.onLeave() != null) trigger.onLeave().onRegionChange(player, trigger.region());
+            }
+        }
+        if (entered != null) {
+            for (Trigger trigger : entered) {
+                if (trigger.onEnter() != null) trigger.onEnter().onRegionChange(player, trigger.region());
+            }
+        }
+    }
+
+    private static List<Trigger> enter(List<Trigger> candidates, Set<Trigger> inside, LudosPlayer player,
+                                       double x, double y, double z, List<Trigger> entered) {
+        for (int i = 0; i < candidates.size(); i++) {
+            Trigger trigger = candidates.get(i);
+            if (!inside.contains(trigger) && trigger.region().contains(player, x, y, z)) {
+                inside.add(trigger);
+                if (entered == null) entered = new ArrayList<>();
+                entered.add(trigger);
+            }
+        }
+        return entered;
+    }
+
+}
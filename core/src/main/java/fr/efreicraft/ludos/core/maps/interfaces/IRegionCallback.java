@@ -0,0 +1,22 @@
+package fr.efreicraft.ludos.core.maps.interfaces;
+
+import fr.efreicraft.ludos.core.maps.MapRegion;
+import fr.efreicraft.ludos.core.players.LudosPlayer;
+
+/**
+ * Interface fonctionnelle pour les callbacks d'entrée et de sortie d'une {@link MapRegion}.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+@FunctionalInterface
+public interface IRegionCallback {
+
+    /**
+     * Méthode appelée quand un joueur entre dans la région ou en sort.
+     * @param player Joueur concerné.
+     * @param region Région concernée.
+     */
+    void onRegionChange(LudosPlayer player, MapRegion region);
+
+}
@@ -8,5 +8,6 @@ import fr.efreicraft.ludos.core.maps.MapManager;
  */
 public enum MapTypes {
     SCHEMATIC,
-    FOLDER
+    FOLDER,
+    ARCHIVE
 }
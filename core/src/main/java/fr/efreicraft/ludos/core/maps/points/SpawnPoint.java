@@ -38,4 +38,13 @@ public class SpawnPoint extends MapPoint {
         return team;
     }
 
+    /**
+     * Crée une copie du point rattachée à une autre équipe, à la même position.
+     * @param team Nouvelle équipe du point.
+     * @return Nouveau point de spawn.
+     */
+    public SpawnPoint withTeam(Team team) {
+        return new SpawnPoint(team, location.clone().subtract(0.5, 0, 0.5));
+    }
+
 }
@@ -6,7 +6,6 @@ import fr.efreicraft.ecatup.players.scoreboards.ScoreboardField;
 import fr.efreicraft.ludos.core.Core;
 import fr.efreicraft.ludos.core.games.GameManager;
 import fr.efreicraft.ludos.core.games.interfaces.Game;
-import fr.efreicraft.ludos.core.players.runnables.PlayerRespawnCountdown;
 import fr.efreicraft.ludos.core.teams.Team;
 import fr.efreicraft.ludos.core.utils.MessageUtils;
 import fr.efreicraft.ludos.core.utils.PlayerUtils;
@@ -57,6 +56,16 @@ public class LudosPlayer {
      */
     private Team team;
 
+    /**
+     * Nom coloré du joueur, calculé au premier appel de {@link #getName()} et invalidé au changement d'équipe.
+     */
+    private String cachedName;
+
+    /**
+     * Nom coloré du joueur en {@link Component}, calculé avec {@link #cachedName}.
+     */
+    private Component cachedNameComponent;
+
     /**
      * Location où le joueur doit respawn après sa mort.
      */
@@ -241,6 +250,7 @@ public class LudosPlayer {
      */
     public void setTeam(Team team) {
         this.team = team;
+        invalidateName();
 
         if(Core.get().getGameManager().getStatus() == GameManager.GameStatus.WAITING
             || Core.get().getTeamManager().getTeams().size() > 2) {
@@ -258,9 +268,10 @@ public class LudosPlayer {
         }
 
         if(Core.get().getGameManager().getStatus() == GameManager.GameStatus.INGAME && !team.isPlayingTeam()) {
+            VisibilityManager visibilityManager = Core.get().getPlayerManager().getVisibilityManager();
             for (LudosPlayer p : Core.get().getPlayerManager().getPlayers()) {
-                if(p != this && p.getTeam().isPlayingTeam()) {
-                    p.entity().hidePlayer(Core.get().getPlugin(), entity());
+                if(p != this && p.getTeam() != null && p.getTeam().isPlayingTeam()) {
+                    visibilityManager.hide(p, this);
                 }
             }
         }
@@ -271,12 +282,9 @@ public class LudosPlayer {
      */
     public void clearTeam() {
         this.team = null;
+        invalidateName();
         if(Core.get().getGameManager().getStatus() != GameManager.GameStatus.INGAME) {
-            for (LudosPlayer p : Core.get().getPlayerManager().getPlayers()) {
-                if(p != this) {
-                    p.entity().showPlayer(Core.get().getPlugin(), entity());
-                }
-            }
+            Core.get().getPlayerManager().getVisibilityManager().showToEveryone(this);
         }
     }
 
@@ -329,16 +337,42 @@ public class LudosPlayer {
      * @return Nom du joueur
      */
     public String getName() {
-        if(this.team == null) {
-            return this.ecPlayer.getPrefixColor() + this.playerEntity.getName();
+        if(this.cachedName == null) {
+            renderName();
+        }
+        return this.cachedName;
+    }
+
+    /**
+     * Retourne le nom du joueur en {@link Component}, avec la couleur de son équipe s'il en a une.
+     * @return Nom du joueur
+     */
+    public Component getNameComponent() {
+        if(this.cachedNameComponent == null) {
+            renderName();
+        }
+        return this.cachedNameComponent;
+    }
+
+    /**
+     * Oublie le nom coloré du joueur, il sera recalculé au prochain appel de {@link #getName()}.<br />
+     * Appelé au changement d'équipe du joueur et au (dé)chargement des équipes.
+     */
+    public void invalidateName() {
+        this.cachedName = null;
+        this.cachedNameComponent = null;
+    }
+
+    /**
+     * Calcule le nom coloré du joueur, en String et en {@link Component}.
+     */
+    private void renderName() {
+        if(this.team == null || Core.get().getTeamManager().getPlayingTeams().size() == 1) {
+            this.cachedName = this.ecPlayer.getPrefixColor() + this.playerEntity.getName();
+            this.cachedNameComponent = LegacyComponentSerializer.legacyAmpersand().deserialize(this.cachedName);
         } else {
-            if(Core.get().getTeamManager().getPlayingTeams().size() == 1) {
-                return this.ecPlayer.getPrefixColor() + this.playerEntity.getName();
-            } else {
-                return LegacyComponentSerializer.legacyAmpersand().serialize(
-                        Component.text(this.playerEntity.getName()).color(this.team.getColor().textColor())
-                );
-            }
+            this.cachedNameComponent = Component.text(this.playerEntity.getName()).color(this.team.getColor().textColor());
+            this.cachedName = LegacyComponentSerializer.legacyAmpersand().serialize(this.cachedNameComponent);
         }
     }
 
@@ -418,8 +452,7 @@ public class LudosPlayer {
             Game game = Core.get().getGameManager().getCurrentGame();
             if(game != null) {
                 if(game.getMetadata().rules().allowRespawn() && this.getTeam().getSpawnCondition(this)) {
-                    PlayerRespawnCountdown countdown = new PlayerRespawnCountdown(this);
-                    countdown.runTaskTimer(Core.get().getPlugin(), 0, 20);
+                    Core.get().getPlayerManager().getRespawnScheduler().schedule(this);
                 } else {
                     PlayerUtils.deathTitles(this);
                     Team specTeam = Core.get().getTeamManager().getTeam("SPECTATORS");
@@ -6,8 +6,12 @@ import fr.efreicraft.ludos.core.IManager;
 import fr.efreicraft.ludos.core.games.GameManager;
 import fr.efreicraft.ludos.core.utils.MessageUtils;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * Gestionnaire des joueurs de jeux.<br /><br />
@@ -20,6 +24,51 @@ public class PlayerManager implements IManager {
 
     private final Set<LudosPlayer> players;
 
+    /**
+     * Visibilité des joueurs entre eux.
+     */
+    private final VisibilityManager visibilityManager = new VisibilityManager();
+
+    /**
+     * Réapparitions en attente des joueurs morts.
+     */
+    private final RespawnScheduler respawnScheduler = new RespawnScheduler();
+
+    /**
+     * Places réservées par le proxy.
+     */
+    private final SlotReservations slotReservations = new SlotReservations();
+
+    /**
+     * Joueurs des équipes jouantes, tenus à jour par {@link fr.efreicraft.ludos.core.teams.Team}.
+     */
+    private final Set<LudosPlayer> playingPlayers = new HashSet<>();
+
+    /**
+     * Copie immuable de {@link #playingPlayers}, reconstruite seulement après un changement.
+     */
+    private Set<LudosPlayer> playingPlayersSnapshot = Set.of();
+
+    /**
+     * Copie immuable de tous les joueurs, utilisée quand aucun jeu n'est chargé.
+     */
+    private Set<LudosPlayer> playersSnapshot = Set.of();
+
+    /**
+     * Joueurs indexés par UUID.
+     */
+    private final Map<UUID, LudosPlayer> playersByUuid = new HashMap<>();
+
+    /**
+     * Joueurs indexés par instance de leur entité Bukkit.
+     */
+    private final Map<org.bukkit.entity.Player, LudosPlayer> playersByEntity = new IdentityHashMap<>();
+
+    /**
+     * Joueurs indexés par instance de leur joueur ECATUP.
+     */
+    private final Map<ECPlayer, LudosPlayer> playersByEcPlayer = new IdentityHashMap<>();
+
     /**
      * Constructeur du gestionnaire de joueurs. Il initialise la liste des joueurs aux joueurs connectés actuellement.
      */
@@ -43,6 +92,10 @@ public class PlayerManager implements IManager {
      */
     public void addPlayer(LudosPlayer p) {
         this.players.add(p);
+        this.playersByUuid.put(p.entity().getUniqueId(), p);
+        this.playersByEntity.put(p.entity(), p);
+        this.playersByEcPlayer.put(p.getEcPlayer(), p);
+        this.playersSnapshot = null;
         Core.get().getTeamManager().dispatchPlayerInTeams(p, false);
 
         if(Core.get().getGameManager().getStatus() == GameManager.GameStatus.WAITING) {
@@ -63,6 +116,13 @@ public class PlayerManager implements IManager {
         }
         player.unload();
         this.players.remove(player);
+        this.playersByUuid.remove(player.entity().getUniqueId());
+        this.playersByEntity.remove(player.entity());
+        this.playersByEcPlayer.remove(player.getEcPlayer());
+        this.playersSnapshot = null;
+        this.setPlaying(player, false);
+        this.visibilityManager.forget(player);
+        this.respawnScheduler.cancel(player);
         if(Core.get().getGameManager().getStatus() == GameManager.GameStatus.WAITING) {
             MessageUtils.broadcastMessage(MessageUtils.ChatPrefix.SERVER, "&b" + player.getName() + " &7a &cquitté&7 la partie.");
         }
@@ -82,12 +142,20 @@ public class PlayerManager implements IManager {
      * @return Liste des joueurs
      */
     public LudosPlayer getPlayer(org.bukkit.entity.Player player) {
-        for (LudosPlayer p : this.players) {
-            if(p.entity().equals(player)) {
-                return p;
-            }
+        LudosPlayer p = this.playersByEntity.get(player);
+        if(p == null && player != null) {
+            p = this.playersByUuid.get(player.getUniqueId());
         }
-        return null;
+        return p;
+    }
+
+    /**
+     * Retourne un joueur à partir de son UUID.
+     * @param uuid UUID du joueur
+     * @return Joueur, ou null s'il n'est pas connecté
+     */
+    public LudosPlayer getPlayer(UUID uuid) {
+        return this.playersByUuid.get(uuid);
     }
 
     /**
@@ -96,12 +164,11 @@ public class PlayerManager implements IManager {
      * @return Liste des joueurs
      */
     public LudosPlayer getPlayer(ECPlayer ecPlayer) {
-        for (LudosPlayer p : this.players) {
-            if(p.getEcPlayer().equals(ecPlayer)) {
-                return p;
-            }
+        LudosPlayer p = this.playersByEcPlayer.get(ecPlayer);
+        if(p == null && ecPlayer != null) {
+            p = this.playersByUuid.get(ecPlayer.entity().getUniqueId());
         }
-        return null;
+        return p;
     }
 
     /**
@@ -113,21 +180,59 @@ public class PlayerManager implements IManager {
     }
 
     /**
-     * Récupère le nombre de joueurs actuellement en train de jouer
-     * @return Nombre de joueurs actuellement en train de jouer
+     * Récupère le gestionnaire de visibilité des joueurs.
+     * @return Gestionnaire de visibilité
+     */
+    public VisibilityManager getVisibilityManager() {
+        return visibilityManager;
+    }
+
+    /**
+     * Récupère le planificateur des réapparitions.
+     * @return Planificateur des réapparitions
+     */
+    public RespawnScheduler getRespawnScheduler() {
+        return respawnScheduler;
+    }
+
+    /**
+     * Récupère les places réservées par le proxy.
+     * @return Places réservées
+     */
+    public SlotReservations getSlotReservations() {
+        return slotReservations;
+    }
+
+    /**
+     * Met à jour l'appartenance d'un joueur à une équipe jouante.
+     * Appelé par {@link fr.efreicraft.ludos.core.teams.Team} à chaque changement d'équipe.
+     * @param player  Joueur
+     * @param playing Vrai si le joueur est dans une équipe jouante
+     */
+    public void setPlaying(LudosPlayer player, boolean playing) {
+        boolean changed = playing ? this.playingPlayers.add(player) : this.playingPlayers.remove(player);
+        if(changed) {
+            this.playingPlayersSnapshot = null;
+        }
+    }
+
+    /**
+     * Récupère les joueurs actuellement en train de jouer, ou tous les joueurs si aucun jeu n'est chargé.<br />
+     * Le set renvoyé est immuable et n'est recréé qu'après un changement d'équipe : il peut être parcouru même si
+     * des joueurs changent d'équipe pendant le parcours.
+     * @return Joueurs actuellement en train de jouer
      */
     public Set<LudosPlayer> getPlayingPlayers() {
-        Set<LudosPlayer> playingPlayers = new HashSet<>();
         if(Core.get().getGameManager().getCurrentGame() == null) {
-            playingPlayers.addAll(this.players);
-        } else {
-            for(LudosPlayer player : getPlayers()) {
-                if(player.getTeam() != null && player.getTeam().isPlayingTeam()) {
-                    playingPlayers.add(player);
-                }
+            if(this.playersSnapshot == null) {
+                this.playersSnapshot = Set.copyOf(this.players);
             }
+            return this.playersSnapshot;
         }
-        return playingPlayers;
+        if(this.playingPlayersSnapshot == null) {
+            this.playingPlayersSnapshot = Set.copyOf(this.playingPlayers);
+        }
+        return this.playingPlayersSnapshot;
     }
 
     /**
@@ -135,7 +240,10 @@ public class PlayerManager implements IManager {
      * @return Nombre de joueurs actuellement en train de jouer
      */
     public int getNumberOfPlayingPlayers() {
-        return getPlayingPlayers().size();
+        if(Core.get().getGameManager().getCurrentGame() == null) {
+            return this.players.size();
+        }
+        return this.playingPlayers.size();
     }
 
 }
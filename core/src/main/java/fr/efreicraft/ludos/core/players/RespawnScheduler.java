@@ -0,0 +1,198 @@
+package fr.efreicraft.ludos.core.players;
+
+import fr.efreicraft.ludos.core.Core;
+import fr.efreicraft.ludos.core.games.interfaces.Game;
+import fr.efreicraft.ludos.core.utils.PlayerUtils;
+import fr.efreicraft.ludos.core.utils.TitleUtils;
+import net.kyori.adventure.title.Title;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Planificateur des réapparitions des joueurs morts.<br /><br />
+ * <p>
+ * Toutes les réapparitions en attente sont gérées par une seule tâche Bukkit, qui tourne à chaque tick tant qu'un
+ * joueur attend. Les réapparitions sont rangées dans une roue de 20 cases (une par tick d'une seconde) : chaque
+ * décompte est mis à jour une fois par seconde, au tick où il a commencé, sans parcourir les autres.<br />
+ * Les titles de chaque valeur du décompte sont construits une fois par titre de réapparition et réutilisés.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public class RespawnScheduler {
+
+    /**
+     * Nombre de cases de la roue : un décompte revient dans sa case toutes les secondes.
+     */
+    private static final int WHEEL_SIZE = 20;
+
+    /**
+     * Réapparition en attente.
+     */
+    private static final class PendingRespawn {
+        private final LudosPlayer player;
+        private final Title[] titles;
+        private int countdown;
+        private boolean cancelled = false;
+
+        private PendingRespawn(LudosPlayer player, Title[] titles, int countdown) {
+            this.player = player;
+            this.titles = titles;
+            this.countdown = countdown;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private final List<PendingRespawn>[] wheel = new List[WHEEL_SIZE];
+
+    private final Map<LudosPlayer, PendingRespawn> pending = new IdentityHashMap<>();
+
+    /**
+     * Titles déjà construits, par titre de réapparition. L'index du tableau est la valeur du décompte.
+     */
+    private final Map<String, Title[]> titlesCache = new HashMap<>();
+
+    /**
+     * Nombre de ticks traités par la tâche.
+     */
+    private long tick = 0;
+
+    private BukkitTask task;
+
+    /**
+     * Constructeur du planificateur.
+     */
+    public RespawnScheduler() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Planifie la réapparition d'un joueur après le temps défini par les règles du jeu actuel.
+     * @param player Joueur mort.
+     */
+    public void schedule(LudosPlayer player) {
+        Game game = Core.get().getGameManager().getCurrentGame();
+        cancel(player);
+
+        String[] respawnTitles = game.getMetadata().customData().respawnTitles();
+        String respawnTitle = respawnTitles[game.getRandom().nextInt(respawnTitles.length)];
+        int respawnTimer = game.getMetadata().rules().respawnTimer();
+
+        PendingRespawn respawn = new PendingRespawn(player, getTitles(respawnTitle, respawnTimer), respawnTimer);
+        pending.put(player, respawn);
+
+        // Le premier pas du décompte est immédiat, les suivants ont lieu toutes les 20 ticks.
+        if (step(respawn)) {
+            wheel[(int) (tick % WHEEL_SIZE)].add(respawn);
+            if (task == null) {
+                task = Bukkit.getScheduler().runTaskTimer(Core.get().getPlugin(), this::run, 1, 1);
+            }
+        }
+    }
+
+    /**
+     * Annule la réapparition en attente d'un joueur.
+     * @param player Joueur.
+     */
+    public void cancel(LudosPlayer player) {
+        PendingRespawn respawn = pending.remove(player);
+        if (respawn != null) {
+            respawn.cancelled = true;
+        }
+    }
+
+    /**
+     * Récupère les titles d'un titre de réapparition pour chaque valeur du décompte.
+     * @param respawnTitle Titre de réapparition, avec un sous-titre optionnel après {@link PlayerUtils#SPLITTER}.
+     * @param respawnTimer Durée du décompte.
+     * @return Tableau des titles, indexé par la valeur du décompte.
+     */
+    private Title[] getTitles(String respawnTitle, int respawnTimer) {
+        Title[] titles = titlesCache.get(respawnTitle);
+        if (titles != null && titles.length > respawnTimer) {
+            return titles;
+        }
+
+        titles = new Title[respawnTimer + 1];
+        String[] toBeDisplayed = respawnTitle.split(PlayerUtils.SPLITTER);
+        if (toBeDisplayed.length <= 1 || toBeDisplayed[1].isBlank()) {
+            for (int countdown = 1; countdown <= respawnTimer; countdown++) {
+                titles[countdown] = TitleUtils.buildTitle(
+                        "&c" + respawnTitle,
+                        "&7Vous réapparaîtrez dans &f" + countdown + " &7secondes.",
+                        0, 40, 0
+                );
+            }
+        } else {
+            Title title = TitleUtils.buildTitle("&c" + toBeDisplayed[0], "&7" + toBeDisplayed[1], 0, 40, 0);
+            for (int countdown = 1; countdown <= respawnTimer; countdown++) {
+                titles[countdown] = title;
+            }
+        }
+        titlesCache.put(respawnTitle, titles);
+        return titles;
+    }
+
+    /**
+     * Traite la case de la roue du tick actuel.
+     */
+    private void run() {
+        tick++;
+        int slot = (int) (tick % WHEEL_SIZE);
+        List<PendingRespawn> bucket = wheel[slot];
+        if (!bucket.isEmpty()) {
+            wheel[slot] = new ArrayList<>(bucket.size());
+            for (PendingRespawn respawn : bucket) {
+                if (step(respawn)) {
+                    wheel[slot].add(respawn);
+                }
+            }
+        }
+
+        if (pending.isEmpty()) {
+            // Il ne reste dans la roue que des réapparitions annulées.
+            for (List<PendingRespawn> remaining : wheel) {
+                remaining.clear();
+            }
+            task.cancel();
+            task = null;
+            titlesCache.clear();
+        }
+    }
+
+    /**
+     * Avance le décompte d'une réapparition d'une seconde.
+     * @param respawn Réapparition en attente.
+     * @return Vrai si le décompte doit continuer.
+     */
+    private boolean step(PendingRespawn respawn) {
+        if (respawn.cancelled) {
+            return false;
+        }
+        Player entity = respawn.player.entity();
+        if (entity == null || entity.isDead() || respawn.player.getTeam() == null) {
+            pending.remove(respawn.player, respawn);
+            return false;
+        }
+
+        if (respawn.countdown == 0) {
+            pending.remove(respawn.player, respawn);
+            respawn.player.getTeam().spawnPlayer(respawn.player);
+            entity.clearTitle();
+            return false;
+        }
+        entity.showTitle(respawn.titles[respawn.countdown]);
+        respawn.countdown--;
+        return true;
+    }
+
+}
@@ -0,0 +1,77 @@
+package fr.efreicraft.ludos.core.players;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Places réservées par le proxy pour des joueurs sur le point de se connecter, par exemple tout un groupe.<br /><br />
+ * <p>
+ * Une réservation compte comme une place occupée jusqu'à la connexion du joueur, ou jusqu'à son expiration après
+ * {@value #RESERVATION_TTL_MS} ms. Utilisé uniquement sur le thread principal.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public class SlotReservations {
+
+    /**
+     * Durée de validité d'une réservation, en millisecondes.
+     */
+    private static final long RESERVATION_TTL_MS = 60_000;
+
+    /**
+     * Expiration de chaque réservation, par UUID, dans l'ordre des réservations.
+     */
+    private final Map<UUID, Long> expiries = new LinkedHashMap<>();
+
+    /**
+     * Réserve une place pour chaque joueur.
+     * @param uuids UUID des joueurs attendus.
+     */
+    public void reserve(Collection<UUID> uuids) {
+        long expiry = System.currentTimeMillis() + RESERVATION_TTL_MS;
+        for (UUID uuid : uuids) {
+            // On retire d'abord la réservation pour garder les expirations dans l'ordre.
+            expiries.remove(uuid);
+            expiries.put(uuid, expiry);
+        }
+    }
+
+    /**
+     * Utilise la réservation d'un joueur qui se connecte.
+     * @param uuid UUID du joueur.
+     * @return Vrai si le joueur avait une place réservée.
+     */
+    public boolean consume(UUID uuid) {
+        purgeExpired();
+        return expiries.remove(uuid) != null;
+    }
+
+    /**
+     * Récupère le nombre de places réservées.
+     * @return Nombre de réservations en cours.
+     */
+    public int count() {
+        purgeExpired();
+        return expiries.size();
+    }
+
+    /**
+     * Annule toutes les réservations.
+     */
+    public void clear() {
+        expiries.clear();
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Long> iterator = expiries.values().iterator();
+        while (iterator.hasNext() && iterator.next() <= now) {
+            iterator.remove();
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+package fr.efreicraft.ludos.core.players;
+
+import fr.efreicraft.ludos.core.Core;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Gestionnaire de la visibilité des joueurs entre eux.<br /><br />
+ * <p>
+ * Chaque {@link Player#hidePlayer}/{@link Player#showPlayer} envoie des paquets (destruction ou apparition de
+ * l'entité, liste des joueurs). Au lieu de les appeler directement, on modifie ici la visibilité souhaitée, stockée
+ * en une ligne de bits par joueur. Une fois par tick, la visibilité souhaitée est comparée à celle déjà appliquée et
+ * seules les différences sont envoyées : un joueur caché puis remontré dans le même tick ne coûte rien.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public class VisibilityManager {
+
+    /**
+     * Index de chaque joueur dans les matrices de visibilité.
+     */
+    private final Map<LudosPlayer, Integer> slots = new IdentityHashMap<>();
+
+    private final BitSet usedSlots = new BitSet();
+
+    private LudosPlayer[] playersBySlot = new LudosPlayer[16];
+
+    /**
+     * Pour chaque joueur (ligne), les joueurs qu'il ne doit pas voir.
+     */
+    private BitSet[] desiredHidden = new BitSet[16];
+
+    /**
+     * Pour chaque joueur (ligne), les joueurs qui lui sont actuellement cachés.
+     */
+    private BitSet[] appliedHidden = new BitSet[16];
+
+    /**
+     * Joueurs dont la visibilité souhaitée a changé depuis le dernier envoi.
+     */
+    private final BitSet dirtyViewers = new BitSet();
+
+    private final BitSet diff = new BitSet();
+
+    private boolean flushScheduled = false;
+
+    /**
+     * Cache un joueur à un autre au prochain tick.
+     * @param viewer Joueur qui ne doit plus voir la cible.
+     * @param target Joueur à cacher.
+     */
+    public void hide(LudosPlayer viewer, LudosPlayer target) {
+        setHidden(viewer, target, true);
+    }
+
+    /**
+     * Montre un joueur à un autre au prochain tick.
+     * @param viewer Joueur qui doit voir la cible.
+     * @param target Joueur à montrer.
+     */
+    public void show(LudosPlayer viewer, LudosPlayer target) {
+        setHidden(viewer, target, false);
+    }
+
+    /**
+     * Cache un joueur aux joueurs des équipes jouantes, et le montre aux autres.
+     * @param target Joueur à cacher.
+     */
+    public void hideFromPlayingPlayers(LudosPlayer target) {
+        for (LudosPlayer viewer : Core.get().getPlayerManager().getPlayers()) {
+            setHidden(viewer, target, viewer.getTeam() != null && viewer.getTeam().isPlayingTeam());
+        }
+    }
+
+    /**
+     * Montre un joueur à tous les joueurs.
+     * @param target Joueur à montrer.
+     */
+    public void showToEveryone(LudosPlayer target) {
+        for (LudosPlayer viewer : Core.get().getPlayerManager().getPlayers()) {
+            setHidden(viewer, target, false);
+        }
+    }
+
+    /**
+     * Oublie un joueur qui quitte le serveur.
+     * @param player Joueur à oublier.
+     */
+    public void forget(LudosPlayer player) {
+        Integer slot = slots.remove(player);
+        if (slot == null) {
+            return;
+        }
+        usedSlots.clear(slot);
+        dirtyViewers.clear(slot);
+        playersBySlot[slot] = null;
+        desiredHidden[slot] = null;
+        appliedHidden[slot] = null;
+        for (int viewer = usedSlots.nextSetBit(0); viewer >= 0; viewer = usedSlots.nextSetBit(viewer + 1)) {
+            desiredHidden[viewer].clear(slot);
+            appliedHidden[viewer].clear(slot);
+        }
+    }
+
+    private void setHidden(LudosPlayer viewer, LudosPlayer target, boolean hidden) {
+        if (viewer == target) {
+            return;
+        }
+        int viewerSlot = slotOf(viewer);
+        int targetSlot = slotOf(target);
+        if (desiredHidden[viewerSlot].get(targetSlot) == hidden) {
+            return;
+        }
+        desiredHidden[viewerSlot].set(targetSlot, hidden);
+        dirtyViewers.set(viewerSlot);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Bukkit.getScheduler().runTask(Core.get().getPlugin(), this::flush);
+        }
+    }
+
+    private int slotOf(LudosPlayer player) {
+        Integer slot = slots.get(player);
+        if (slot != null) {
+            return slot;
+        }
+        int newSlot = usedSlots.nextClearBit(0);
+        if (newSlot >= playersBySlot.length) {
+            int length = playersBySlot.length * 2;
+            playersBySlot = Arrays.copyOf(playersBySlot, length);
+            desiredHidden = Arrays.copyOf(desiredHidden, length);
+            appliedHidden = Arrays.copyOf(appliedHidden, length);
+        }
+        usedSlots.set(newSlot);
+        playersBySlot[newSlot] = player;
+        desiredHidden[newSlot] = new BitSet();
+        appliedHidden[newSlot] = new BitSet();
+        slots.put(player, newSlot);
+        return newSlot;
+    }
+
+    /**
+     * Envoie les changements de visibilité en attente.
+     */
+    public void flush() {
+        flushScheduled = false;
+        for (int viewerSlot = dirtyViewers.nextSetBit(0); viewerSlot >= 0; viewerSlot = dirtyViewers.nextSetBit(viewerSlot + 1)) {
+            diff.clear();
+            diff.or(desiredHidden[viewerSlot]);
+            diff.xor(appliedHidden[viewerSlot]);
+            if (diff.isEmpty()) {
+                continue;
+            }
+
+            Player viewer = playersBySlot[viewerSlot].entity();
+            for (int targetSlot = diff.nextSetBit(0); targetSlot >= 0; targetSlot = diff.nextSetBit(targetSlot + 1)) {
+                Player target = playersBySlot[targetSlot].entity();
+                if (desiredHidden[viewerSlot].get(targetSlot)) {
+                    viewer.hidePlayer(Core.get().getPlugin(), target);
+                } else {
+                    viewer.showPlayer(Core.get().getPlugin(), target);
+                }
+            }
+            appliedHidden[viewerSlot].clear();
+            appliedHidden[viewerSlot].or(desiredHidden[viewerSlot]);
+        }
+        dirtyViewers.clear();
+    }
+
+}
@@ -2,7 +2,6 @@ package fr.efreicraft.ludos.core.teams;
 
 import com.google.common.collect.ImmutableMap;
 import fr.efreicraft.ludos.core.Core;
-import fr.efreicraft.ludos.core.players.LudosPlayer;
 import fr.efreicraft.ludos.core.teams.interfaces.ITeamPlayerSpawnBehavior;
 import fr.efreicraft.ludos.core.teams.interfaces.ITeamPlayerSpawnCondition;
 import fr.efreicraft.ludos.core.utils.ColorUtils;
@@ -33,13 +32,7 @@ public class DefaultTeamRecordBuilder {
                         null,
                         player -> {
                             player.entity().setGameMode(org.bukkit.GameMode.SPECTATOR);
-                            for (LudosPlayer p : Core.get().getPlayerManager().getPlayers()) {
-                                if(p.getTeam() != null && p.getTeam().isPlayingTeam()) {
-                                    p.entity().hidePlayer(Core.get().getPlugin(), player.entity());
-                                } else {
-                                    p.entity().showPlayer(Core.get().getPlugin(), player.entity());
-                                }
-                            }
+                            Core.get().getPlayerManager().getVisibilityManager().hideFromPlayingPlayers(player);
                         }
                 ))
                 .build()
@@ -13,6 +13,8 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Location;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -170,6 +172,7 @@ public class Team {
         }
         this.players.add(player);
         player.setTeam(this);
+        Core.get().getPlayerManager().setPlaying(player, this.playingTeam);
         if(this.bukkitTeam != null) {
             this.bukkitTeam.addEntry(player.entity().getName());
         }
@@ -180,6 +183,45 @@ public class Team {
         }
     }
 
+    /**
+     * Ajoute plusieurs joueurs à l'équipe en une fois.<br />
+     * Les entrées de l'équipe Bukkit sont ajoutées en un seul appel, et les items (ou le spawn) des joueurs
+     * ne sont préparés qu'une fois tous les joueurs ajoutés.
+     * @param newPlayers Joueurs à ajouter.
+     */
+    public void addPlayers(Collection<LudosPlayer> newPlayers) {
+        List<LudosPlayer> added = new ArrayList<>(newPlayers.size());
+        List<String> entries = new ArrayList<>(newPlayers.size());
+        for (LudosPlayer player : newPlayers) {
+            if(this.players.contains(player)) {
+                continue;
+            }
+            if(player.getTeam() != null) {
+                player.getTeam().removePlayer(player);
+            }
+            this.players.add(player);
+            player.setTeam(this);
+            Core.get().getPlayerManager().setPlaying(player, this.playingTeam);
+            added.add(player);
+            entries.add(player.entity().getName());
+        }
+        if(added.isEmpty()) {
+            return;
+        }
+
+        if(this.bukkitTeam != null) {
+            this.bukkitTeam.addEntries(entries);
+        }
+        boolean waiting = Core.get().getGameManager().getStatus() == GameManager.GameStatus.WAITING;
+        for (LudosPlayer player : added) {
+            if(waiting) {
+                LobbyPlayerHelper.preparePlayerItems(player);
+            } else {
+                this.spawnBehavior.spawnPlayer(player);
+            }
+        }
+    }
+
     /**
      * Supprime un joueur de l'équipe.
      * @param player Joueur à supprimer.
@@ -190,6 +232,7 @@ public class Team {
         }
         this.players.remove(player);
         player.clearTeam();
+        Core.get().getPlayerManager().setPlaying(player, false);
         if(player.entity() != null && this.bukkitTeam != null) {
             this.bukkitTeam.removeEntry(player.entity().getName());
         }
@@ -208,6 +251,7 @@ public class Team {
     public void removePlayers(Set<LudosPlayer> players) {
         for (LudosPlayer player : players) {
             player.clearTeam();
+            Core.get().getPlayerManager().setPlaying(player, false);
             if(player.entity() != null && this.bukkitTeam != null) {
                 this.bukkitTeam.removeEntry(player.entity().getName());
             }
@@ -7,10 +7,16 @@ import fr.efreicraft.ludos.core.games.GameManager;
 import fr.efreicraft.ludos.core.players.LudosPlayer;
 import org.bukkit.DyeColor;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.PriorityQueue;
 
 /**
  * Gestionnaire des équipes.<br /><br />
@@ -27,6 +33,16 @@ public class TeamManager implements IManager {
      */
     private Map<String, Team> teams;
 
+    /**
+     * Équipes qui jouent, recalculées seulement au chargement et au déchargement des équipes.
+     */
+    private Map<String, Team> playingTeams = Collections.emptyMap();
+
+    /**
+     * Équipes indexées par leur {@link DyeColor}, recalculées avec {@link #playingTeams}.
+     */
+    private Map<DyeColor, Team> teamsByDyeColor = Collections.emptyMap();
+
     /**
      * Constructeur du gestionnaire d'équipes.
      */
@@ -52,6 +68,7 @@ public class TeamManager implements IManager {
         for (Map.Entry<String, TeamRecord> entry : teams.entrySet()) {
             this.teams.put(entry.getKey(), new Team(entry.getValue()));
         }
+        indexTeams();
 
         if(this.teams.size() == 2) {
             ECATUP.getInstance().getGroupManager().registerTeams();
@@ -76,6 +93,32 @@ public class TeamManager implements IManager {
             team.unloadTeam();
         }
         this.teams = new HashMap<>();
+        indexTeams();
+    }
+
+    /**
+     * Recalcule les vues immuables des équipes chargées.<br />
+     * Les maps sont remplacées et jamais modifiées : elles peuvent être lues depuis un autre thread.
+     */
+    private void indexTeams() {
+        Map<String, Team> playing = new HashMap<>();
+        Map<DyeColor, Team> byDyeColor = new EnumMap<>(DyeColor.class);
+        for (Map.Entry<String, Team> entry : this.teams.entrySet()) {
+            Team team = entry.getValue();
+            if(team.isPlayingTeam()) {
+                playing.put(entry.getKey(), team);
+            }
+            if(team.getColor().dyeColor() != null) {
+                byDyeColor.putIfAbsent(team.getColor().dyeColor(), team);
+            }
+        }
+        this.playingTeams = Collections.unmodifiableMap(playing);
+        this.teamsByDyeColor = Collections.unmodifiableMap(byDyeColor);
+
+        // Le nom coloré des joueurs dépend du nombre d'équipes jouantes.
+        for (LudosPlayer player : Core.get().getPlayerManager().getPlayers()) {
+            player.invalidateName();
+        }
     }
 
     /**
@@ -115,11 +158,66 @@ public class TeamManager implements IManager {
      * Dispatch les joueurs dans les équipes de façon équitable.
      */
     public void dispatchAllPlayersInTeams() {
+        dispatchPlayersInTeams(Core.get().getPlayerManager().getPlayers());
+    }
+
+    /**
+     * Taille d'une équipe pendant la répartition des joueurs.
+     * @param team  Équipe
+     * @param order Ordre de l'équipe, pour départager les équipes de même taille
+     * @param size  Nombre de joueurs de l'équipe, répartition en cours comprise
+     */
+    private record TeamSize(Team team, int order, int size) {
+    }
+
+    /**
+     * Dispatch en une fois les joueurs sans équipe, avec les mêmes règles que {@link #dispatchPlayerInTeams}.<br />
+     * La répartition est calculée en une passe avec un tas trié par taille d'équipe, puis chaque équipe reçoit ses
+     * joueurs en un seul appel à {@link Team#addPlayers}.
+     * @param players Joueurs à dispatch.
+     */
+    public void dispatchPlayersInTeams(Collection<LudosPlayer> players) {
         if(this.teams.size() == 0) {
             return;
         }
-        for (LudosPlayer player : Core.get().getPlayerManager().getPlayers()) {
-            dispatchPlayerInTeams(player, false);
+        List<LudosPlayer> withoutTeam = new ArrayList<>();
+        for (LudosPlayer player : players) {
+            if(player.getTeam() == null) {
+                withoutTeam.add(player);
+            }
+        }
+        if(withoutTeam.isEmpty()) {
+            return;
+        }
+
+        if(Core.get().getGameManager().getStatus() != GameManager.GameStatus.WAITING) {
+            this.getTeam("SPECTATORS").addPlayers(withoutTeam);
+            return;
+        }
+        if(this.teams.size() == 2) {
+            this.teams.values().iterator().next().addPlayers(withoutTeam);
+            return;
+        }
+
+        PriorityQueue<TeamSize> heap = new PriorityQueue<>(
+                Comparator.comparingInt(TeamSize::size).thenComparingInt(TeamSize::order)
+        );
+        int order = 0;
+        for (Team team : getPlayingTeams().values()) {
+            heap.add(new TeamSize(team, order++, team.getPlayers().size()));
+        }
+        if(heap.isEmpty()) {
+            return;
+        }
+
+        Map<Team, List<LudosPlayer>> assignment = new LinkedHashMap<>();
+        for (LudosPlayer player : withoutTeam) {
+            TeamSize smallest = heap.poll();
+            assignment.computeIfAbsent(smallest.team(), k -> new ArrayList<>()).add(player);
+            heap.add(new TeamSize(smallest.team(), smallest.order(), smallest.size() + 1));
+        }
+        for (Map.Entry<Team, List<LudosPlayer>> entry : assignment.entrySet()) {
+            entry.getKey().addPlayers(entry.getValue());
         }
     }
 
@@ -142,12 +240,18 @@ public class TeamManager implements IManager {
      * @return L'équipe.
      */
     public Team getTeamByDyeColor(DyeColor color) {
-        for (Team team : this.teams.values()) {
-            if (team.getColor().dyeColor() == color) {
-                return team;
-            }
+        if(color == null) {
+            return null;
         }
-        return null;
+        return this.teamsByDyeColor.get(color);
+    }
+
+    /**
+     * Retourne les équipes chargées indexées par leur {@link DyeColor}.
+     * @return Une map immuable des équipes par couleur.
+     */
+    public Map<DyeColor, Team> getTeamsByDyeColor() {
+        return this.teamsByDyeColor;
     }
 
     /**
@@ -160,12 +264,10 @@ public class TeamManager implements IManager {
 
     /**
      * Retourne les équipes qui jouent.
-     * @return Les équipes qui jouent
+     * @return Une map immuable des équipes qui jouent
      */
     public Map<String, Team> getPlayingTeams() {
-        return getTeams().entrySet().stream()
-                .filter((entry) -> entry.getValue().isPlayingTeam())
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return this.playingTeams;
     }
 
 }
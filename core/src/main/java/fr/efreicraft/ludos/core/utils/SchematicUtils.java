@@ -11,13 +11,16 @@ import com.sk89q.worldedit.function.operation.Operation;
 import com.sk89q.worldedit.function.operation.Operations;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.session.ClipboardHolder;
+import com.sk89q.worldedit.util.SideEffectSet;
 import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.block.BlockTypes;
 import fr.efreicraft.ludos.core.Core;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Collection;
 
 /**
  * Utilitaire pour gérer les schematics.
@@ -75,4 +78,22 @@ public class SchematicUtils {
         }
     }
 
+    /**
+     * Remplace des blocs par de l'air en une seule opération, sans mise à jour des blocs voisins ni historique.
+     * @param world Monde dans lequel retirer les blocs.
+     * @param positions Positions des blocs à retirer.
+     * @throws WorldEditException Erreur lors de la modification des blocs.
+     */
+    public static void clearBlocks(World world, Collection<BlockVector3> positions) throws WorldEditException {
+        try (EditSession editSession = WorldEdit.getInstance().newEditSessionBuilder()
+                .world(world)
+                .fastMode(true)
+                .build()) {
+            editSession.setSideEffectApplier(SideEffectSet.none());
+            for (BlockVector3 position : positions) {
+                editSession.setBlock(position, BlockTypes.AIR.getDefaultState());
+            }
+        }
+    }
+
 }
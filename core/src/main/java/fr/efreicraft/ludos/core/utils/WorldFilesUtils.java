@@ -0,0 +1,251 @@
+package fr.efreicraft.ludos.core.utils;
+
+import fr.efreicraft.ludos.core.Core;
+import org.bukkit.Bukkit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Utilitaire d'entrées/sorties sur les dossiers de mondes.<br /><br />
+ * <p>
+ * Les copies sont faites par des workers en arrière-plan et renvoient des {@link CompletableFuture}. La suite du
+ * chargement (création du monde, parsing) se chaîne sur le thread principal avec {@link #MAIN_THREAD}.<br />
+ * Les suppressions sont mises dans une file traitée par un unique thread, après avoir renommé le dossier : un monde
+ * du même nom peut donc être recréé aussitôt.
+ *
+ * @author Antoine B. {@literal <antoine@jiveoff.fr>}
+ * @project Ludos
+ */
+public class WorldFilesUtils {
+
+    /**
+     * Fichiers propres à une instance de monde, jamais copiés.
+     * Deux mondes chargés avec le même uid.dat sont refusés par le serveur.
+     */
+    private static final Set<String> IGNORED_FILES = Set.of("session.lock", "uid.dat");
+
+    /**
+     * Suffixe des dossiers en attente de suppression.
+     */
+    private static final String DELETING_SUFFIX = ".deleting-";
+
+    /**
+     * Exécuteur qui relance les tâches sur le thread principal du serveur.
+     */
+    public static final Executor MAIN_THREAD = runnable -> {
+        if (Bukkit.isPrimaryThread()) {
+            runnable.run();
+        } else {
+            Bukkit.getScheduler().runTask(Core.get().getPlugin(), runnable);
+        }
+    };
+
+    private static final ExecutorService COPY_WORKERS = Executors.newFixedThreadPool(2, namedDaemonThreads("Ludos-WorldCopy"));
+
+    private static final ExecutorService REAPER = Executors.newSingleThreadExecutor(namedDaemonThreads("Ludos-WorldReaper"));
+
+    private WorldFilesUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    private static ThreadFactory namedDaemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Copie un dossier de monde en arrière-plan.
+     *
+     * @param source Dossier à copier.
+     * @param target Dossier de destination, créé si besoin.
+     * @return Future complétée quand la copie est terminée.
+     */
+    public static CompletableFuture<Void> copyDirectory(Path source, Path target) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.walkFileTree(source, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                        Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        if (!IGNORED_FILES.contains(file.getFileName().toString())) {
+                            Files.copy(file, target.resolve(source.relativize(file).toString()), StandardCopyOption.REPLACE_EXISTING);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, COPY_WORKERS);
+    }
+
+    /**
+     * Compresse un dossier de monde dans une archive zip, en arrière-plan.<br />
+     * L'archive est écrite dans un fichier temporaire puis déplacée, une archive incomplète n'est donc jamais lue.
+     *
+     * @param source  Dossier à compresser.
+     * @param archive Fichier de l'archive.
+     * @return Future complétée quand l'archive est écrite.
+     */
+    public static CompletableFuture<Void> packDirectory(Path source, Path archive) {
+        return CompletableFuture.runAsync(() -> {
+            Path tempArchive = archive.resolveSibling(archive.getFileName() + ".tmp");
+            try (ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(tempArchive)))) {
+                out.setLevel(Deflater.BEST_COMPRESSION);
+                Files.walkFileTree(source, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        if (!IGNORED_FILES.contains(file.getFileName().toString())) {
+                            out.putNextEntry(new ZipEntry(source.relativize(file).toString().replace(File.separatorChar, '/')));
+                            Files.copy(file, out);
+                            out.closeEntry();
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try {
+                Files.move(tempArchive, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, COPY_WORKERS);
+    }
+
+    /**
+     * Décompresse une archive de monde dans un dossier, en arrière-plan.<br />
+     * Les entrées sont écrites directement depuis le flux de l'archive, sans copie intermédiaire.
+     *
+     * @param archive Fichier de l'archive.
+     * @param target  Dossier de destination, créé si besoin.
+     * @return Future complétée quand l'archive est décompressée.
+     */
+    public static CompletableFuture<Void> extractArchive(Path archive, Path target) {
+        return CompletableFuture.runAsync(() -> {
+            Path normalizedTarget = target.toAbsolutePath().normalize();
+            try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(Files.newInputStream(archive)))) {
+                ZipEntry entry;
+                while ((entry = in.getNextEntry()) != null) {
+                    Path destination = normalizedTarget.resolve(entry.getName()).normalize();
+                    if (!destination.startsWith(normalizedTarget)) {
+                        throw new IOException("Entry outside of the world folder: " + entry.getName());
+                    }
+                    if (entry.isDirectory()) {
+                        Files.createDirectories(destination);
+                    } else if (!IGNORED_FILES.contains(destination.getFileName().toString())) {
+                        Files.createDirectories(destination.getParent());
+                        Files.copy(in, destination, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, COPY_WORKERS);
+    }
+
+    /**
+     * Met un dossier dans la file de suppression.<br />
+     * Le dossier est d'abord renommé depuis le thread appelant, son nom est donc libéré immédiatement.
+     *
+     * @param directory Dossier à supprimer.
+     * @return Future complétée quand le dossier est supprimé.
+     */
+    public static CompletableFuture<Void> deleteDirectory(Path directory) {
+        if (!Files.exists(directory)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Path trash = directory.resolveSibling(directory.getFileName() + DELETING_SUFFIX + System.nanoTime());
+        Path toDelete;
+        try {
+            toDelete = Files.move(directory, trash);
+        } catch (IOException e) {
+            Core.get().getLogger().log(Level.WARNING, "Unable to rename {0} before deletion: {1}", new Object[]{directory, e.getMessage()});
+            toDelete = directory;
+        }
+
+        Path finalToDelete = toDelete;
+        return CompletableFuture.runAsync(() -> {
+            try {
+                deleteRecursively(finalToDelete);
+            } catch (IOException e) {
+                Core.get().getLogger().log(Level.WARNING, "Unable to delete {0}: {1}", new Object[]{finalToDelete, e.getMessage()});
+            }
+        }, REAPER);
+    }
+
+    /**
+     * Met dans la file de suppression les dossiers dont la suppression a été interrompue (arrêt du serveur).
+     *
+     * @param container Dossier contenant les mondes.
+     */
+    public static void reapLeftovers(Path container) {
+        try (Stream<Path> stream = Files.list(container)) {
+            stream.filter(path -> path.getFileName().toString().contains(DELETING_SUFFIX))
+                    .forEach(path -> REAPER.execute(() -> {
+                        try {
+                            deleteRecursively(path);
+                        } catch (IOException e) {
+                            Core.get().getLogger().log(Level.WARNING, "Unable to delete {0}: {1}", new Object[]{path, e.getMessage()});
+                        }
+                    }));
+        } catch (IOException e) {
+            Core.get().getLogger().log(Level.WARNING, "Unable to list {0}: {1}", new Object[]{container, e.getMessage()});
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                if (exc != null) {
+                    throw exc;
+                }
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+}
@@ -3,7 +3,6 @@ package fr.efreicraft.ludos.core.utils;
 import fr.efreicraft.ludos.core.Core;
 import fr.efreicraft.ludos.core.maps.interfaces.MapPoint;
 import fr.efreicraft.ludos.core.players.LudosPlayer;
-import org.apache.commons.io.FileUtils;
 import org.bukkit.*;
 import org.bukkit.block.Block;
 
@@ -57,6 +56,7 @@ public class WorldUtils {
         for(World world : worldsToCleanUp) {
             deleteWorld(world);
         }
+        WorldFilesUtils.reapLeftovers(Bukkit.getWorldContainer().toPath());
         return worldsToCleanUp.size();
     }
 
@@ -74,12 +74,8 @@ public class WorldUtils {
             }
         }
         Bukkit.unloadWorld(world, false);
-        try {
-            Core.get().getLogger().info("Deleting world folder: " + world.getWorldFolder().getAbsolutePath());
-            FileUtils.deleteDirectory(world.getWorldFolder());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        Core.get().getLogger().info("Deleting world folder: " + world.getWorldFolder().getAbsolutePath());
+        WorldFilesUtils.deleteDirectory(world.getWorldFolder().toPath());
     }
 
     /**
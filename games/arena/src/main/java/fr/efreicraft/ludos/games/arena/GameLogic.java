@@ -12,12 +12,14 @@ import org.bukkit.GameMode;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.LeatherArmorMeta;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
 import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Antoine B. {@literal <antoine@jiveoff.fr>}
@@ -74,6 +76,30 @@ public class GameLogic {
         announceKillstreak(player);
     }
 
+    /**
+     * Compte la mort d'un joueur jouant : sa série de kills est remise à zéro et le kill est compté pour l'équipe
+     * adverse, et pour le tueur s'il en fait partie.
+     * @param player Joueur mort
+     * @param killer Joueur qui l'a tué, ou null
+     */
+    public void onPlayerDeath(LudosPlayer player, Player killer) {
+        resetKillstreak(player);
+        Team otherTeam = null;
+        for(Map.Entry<String, Team> team : Core.get().getTeamManager().getTeams().entrySet()) {
+            if(team.getValue() != player.getTeam() && team.getValue().isPlayingTeam()) {
+                LudosPlayer ludosKiller = Core.get().getPlayerManager().getPlayer(killer);
+                if(ludosKiller != null && ludosKiller.getTeam() == team.getValue()) {
+                    addPlayerKill(ludosKiller);
+                }
+                otherTeam = team.getValue();
+                break;
+            }
+        }
+        if(otherTeam != null) {
+            addKill(otherTeam);
+        }
+    }
+
     private void announceKillstreak(LudosPlayer player) {
         int killstreak = getPlayerKillstreak(player);
 
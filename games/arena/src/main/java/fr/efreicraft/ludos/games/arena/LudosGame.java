@@ -2,19 +2,26 @@ package fr.efreicraft.ludos.games.arena;
 
 import fr.efreicraft.ecatup.players.scoreboards.ScoreboardField;
 import fr.efreicraft.ludos.core.Core;
+import fr.efreicraft.ludos.core.games.GameEventBus;
+import fr.efreicraft.ludos.core.games.GameManager;
 import fr.efreicraft.ludos.core.games.annotations.CustomGameData;
 import fr.efreicraft.ludos.core.games.annotations.GameMetadata;
 import fr.efreicraft.ludos.core.games.annotations.GameRules;
 import fr.efreicraft.ludos.core.games.interfaces.Game;
+import fr.efreicraft.ludos.core.maps.MapRegion;
 import fr.efreicraft.ludos.core.players.LudosPlayer;
 import fr.efreicraft.ludos.core.teams.DefaultTeamRecordBuilder;
 import fr.efreicraft.ludos.core.teams.TeamRecord;
 import fr.efreicraft.ludos.core.utils.ColorUtils;
+import org.bukkit.GameMode;
 import org.bukkit.GameRule;
 import org.bukkit.Material;
 import org.bukkit.World;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
 
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -51,7 +58,14 @@ public class LudosGame extends Game {
     public LudosGame() {
         super();
         this.gameLogic = new GameLogic();
-        this.setEventListener(new EventListener(gameLogic));
+    }
+
+    @Override
+    public void registerPhaseHandlers(GameEventBus eventBus) {
+        eventBus.register(this, PlayerDeathEvent.class, EnumSet.of(GameManager.GameStatus.INGAME),
+                GameEventBus.PlayerRole.PLAYING, (event, player) -> gameLogic.onPlayerDeath(player, event.getEntity().getKiller()));
+        eventBus.register(this, PlayerDropItemEvent.class, EnumSet.of(GameManager.GameStatus.INGAME),
+                GameEventBus.PlayerRole.ANY, (event, player) -> event.setCancelled(true));
     }
 
     @Override
@@ -65,7 +79,12 @@ public class LudosGame extends Game {
 
     @Override
     public void postMapParse() {
-        // Rien à faire ici
+        Core.get().getMapManager().getRegionTriggers().register(
+                MapRegion.below(Core.get().getMapManager().getCurrentMap().getLowestBoundary().getY() - 5)
+                        .when(player -> player.entity().getGameMode() == GameMode.ADVENTURE),
+                (player, region) -> player.entity().setHealth(0),
+                null
+        );
     }
 
     @Override
@@ -23,7 +23,6 @@ public class GameLogic {
     private final IPatternProvider patternProvider = new SingleRandomBlockPattern();
 
     private List<GamePoint> gamePointList;
-    private int killZonePositionY;
     private int difficulty = 0;
 
     public GameLogic() {
@@ -83,23 +82,6 @@ public class GameLogic {
         difficulty++;
     }
 
-    /**
-     * Méthode pour définir la position Y de la zone de mort.
-     * @param killZoneLocation La position de la zone de mort.
-     */
-    public void setKillZoneLocation(Location killZoneLocation) {
-        this.killZonePositionY = killZoneLocation.getBlockY();
-    }
-
-    /**
-     * Méthode pour vérifier si le joueur est en dehors de la zone de mort.
-      * @param positionY La position Y du joueur.
-     * @return True si le joueur est en dehors de la zone de mort.
-     */
-    public boolean isOutsideKillzone(double positionY) {
-        return killZonePositionY > positionY;
-    }
-
     /**
      * Triggers once the player death
      * @param player Player related to that event
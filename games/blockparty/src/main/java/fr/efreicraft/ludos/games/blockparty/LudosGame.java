@@ -5,6 +5,7 @@ import fr.efreicraft.ludos.core.Core;
 import fr.efreicraft.ludos.core.games.annotations.GameMetadata;
 import fr.efreicraft.ludos.core.games.annotations.GameRules;
 import fr.efreicraft.ludos.core.games.interfaces.Game;
+import fr.efreicraft.ludos.core.maps.MapRegion;
 import fr.efreicraft.ludos.core.players.LudosPlayer;
 import fr.efreicraft.ludos.core.teams.DefaultTeamRecordBuilder;
 import fr.efreicraft.ludos.core.teams.TeamRecord;
@@ -42,7 +43,6 @@ public class LudosGame extends Game {
     public LudosGame() {
         super();
         this.gameLogic = new GameLogic();
-        this.setEventListener(new EventListener(this.gameLogic));
     }
 
     @Override
@@ -58,7 +58,11 @@ public class LudosGame extends Game {
     public void postMapParse() {
         Location killZoneLocation = Core.get().getMapManager().getCurrentMap().getGamePoints()
                 .get("KILL_ZONE").get(0).getLocation();
-        this.gameLogic.setKillZoneLocation(killZoneLocation);
+        Core.get().getMapManager().getRegionTriggers().register(
+                MapRegion.below(killZoneLocation.getBlockY()),
+                (player, region) -> this.gameLogic.onPlayerBelowKillzone(player),
+                null
+        );
         Core.get().getMapManager().getCurrentMap().getWorld().setBlockData(
                 killZoneLocation,
                 Material.PINK_WOOL.createBlockData()
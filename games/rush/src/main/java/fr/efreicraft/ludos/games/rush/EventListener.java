@@ -2,13 +2,14 @@ package fr.efreicraft.ludos.games.rush;
 
 import com.destroystokyo.paper.MaterialTags;
 import fr.efreicraft.ludos.core.Core;
+import fr.efreicraft.ludos.core.maps.ParsedMap;
+import fr.efreicraft.ludos.core.maps.interfaces.MapPoint;
 import fr.efreicraft.ludos.core.maps.points.SpawnPoint;
 import fr.efreicraft.ludos.core.players.LudosPlayer;
 import fr.efreicraft.ludos.core.teams.Team;
 import fr.efreicraft.ludos.core.utils.MessageUtils;
 import io.papermc.paper.event.entity.EntityMoveEvent;
 import net.kyori.adventure.text.TextComponent;
-import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Bed;
@@ -24,10 +25,8 @@ import org.bukkit.event.entity.EntityInteractEvent;
 import org.bukkit.event.entity.VillagerReplenishTradeEvent;
 import org.bukkit.event.inventory.CraftItemEvent;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.inventory.Merchant;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Set;
@@ -58,37 +57,20 @@ public record EventListener(GameLogic logic) implements Listener {
 
     @EventHandler
     public void onPlaceBlock(BlockPlaceEvent event) {
-        Location mid = Core.get().getMapManager().getCurrentMap().getMiddleOfMap();
+        ParsedMap map = Core.get().getMapManager().getCurrentMap();
+        Location mid = map.getMiddleOfMap();
 
-        ArrayList<Location> forbiddenGenerators = new ArrayList<>();
-
-        Core.get().getMapManager().getCurrentMap().getGamePoints().get("TEAM1_GENERATOR").forEach(point -> forbiddenGenerators.add(point.getLocation().toBlockLocation()));
-        Core.get().getMapManager().getCurrentMap().getGamePoints().get("TEAM2_GENERATOR").forEach(point -> forbiddenGenerators.add(point.getLocation().toBlockLocation()));
-        Core.get().getMapManager().getCurrentMap().getGamePoints().get("TEAM3_GENERATOR").forEach(point -> forbiddenGenerators.add(point.getLocation().toBlockLocation()));
-        Core.get().getMapManager().getCurrentMap().getGamePoints().get("TEAM4_GENERATOR").forEach(point -> forbiddenGenerators.add(point.getLocation().toBlockLocation()));
-
-        if (forbiddenGenerators.contains(event.getBlock().getLocation().toBlockLocation())) {
+        // Les générateurs, les points de spawn et le bloc au-dessus des spawns sont protégés.
+        Block placed = event.getBlock();
+        MapPoint point = map.getPointAt(placed.getX(), placed.getY(), placed.getZ());
+        if (point != null && (point instanceof SpawnPoint || point.getName().endsWith("_GENERATOR"))) {
+            event.setCancelled(true);
+            return;
+        }
+        if (map.getPointAt(placed.getX(), placed.getY() - 1, placed.getZ()) instanceof SpawnPoint) {
             event.setCancelled(true);
             return;
         }
-
-        Core.get().getMapManager().getCurrentMap().getSpawnPoints().values()
-                .forEach(points -> {
-                    for (SpawnPoint point : points) {
-                        Location block = point.getLocation().clone().toBlockLocation();
-                        block.setPitch(0);
-                        block.setYaw(0);
-
-                        Location blockAbove = point.getLocation().clone().add(0, 1, 0).toBlockLocation();
-                        blockAbove.setPitch(0);
-                        blockAbove.setYaw(0);
-
-                        if (block.equals(event.getBlock().getLocation().toBlockLocation()) || blockAbove.equals(event.getBlock().getLocation().toBlockLocation())) {
-                            event.setCancelled(true);
-                            return;
-                        }
-                    }
-                });
 
         if (Math.abs(event.getBlock().getY() - mid.getBlockY()) > GameLogic.MAX_BUILD_HEIGHT) {
             event.setCancelled(true);
@@ -158,20 +140,6 @@ public record EventListener(GameLogic logic) implements Listener {
         }
     }
 
-    @EventHandler
-    public void onPlayerMove(PlayerMoveEvent event) {
-        if (!event.hasChangedBlock()) return;
-
-        LudosPlayer player = Utils.getLudosPlayer(event.getPlayer());
-        if (player == null) return;
-        if (!player.getTeam().isPlayingTeam()) {
-            return;
-        }
-        if (logic.yDeath() >= event.getTo().getY() && !player.entity().getGameMode().equals(GameMode.SPECTATOR)) {
-            player.entity().setHealth(0);
-        }
-    }
-
     @EventHandler
     public void onTradeChange(VillagerReplenishTradeEvent event) {
         event.getRecipe().setDemand(-1);
@@ -6,12 +6,14 @@ import fr.efreicraft.ludos.core.games.annotations.CustomGameData;
 import fr.efreicraft.ludos.core.games.annotations.GameMetadata;
 import fr.efreicraft.ludos.core.games.annotations.GameRules;
 import fr.efreicraft.ludos.core.games.interfaces.Game;
+import fr.efreicraft.ludos.core.maps.MapRegion;
 import fr.efreicraft.ludos.core.players.LudosPlayer;
 import fr.efreicraft.ludos.core.teams.DefaultTeamRecordBuilder;
 import fr.efreicraft.ludos.core.teams.Team;
 import fr.efreicraft.ludos.core.teams.TeamRecord;
 import fr.efreicraft.ludos.core.utils.ColorUtils;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.GameMode;
 import org.bukkit.GameRule;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -74,6 +76,12 @@ public class LudosGame extends Game {
                 Core.get().getMapManager().getCurrentMap().getGlobalPoints().get("MIDDLE").get(0).getLocation()
         );
         this.gameLogic.yDeath(killZoneLocation.getBlockY());
+        Core.get().getMapManager().getRegionTriggers().register(
+                MapRegion.below(killZoneLocation.getBlockY())
+                        .when(player -> player.entity().getGameMode() != GameMode.SPECTATOR),
+                (player, region) -> player.entity().setHealth(0),
+                null
+        );
 
         Team BLEUS = Utils.getTeam("BLEUS");
         Team ROUGES = Utils.getTeam("ROUGES");
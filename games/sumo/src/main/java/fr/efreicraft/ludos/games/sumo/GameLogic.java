@@ -1,24 +1,13 @@
 package fr.efreicraft.ludos.games.sumo;
 
 import fr.efreicraft.ludos.core.players.LudosPlayer;
-import org.bukkit.Location;
 
 import java.util.HashMap;
 import java.util.Map;
 
 public class GameLogic {
-    private int killZonePositionY;
-
     private final Map<LudosPlayer, Integer> playerKills = new HashMap<>();
 
-    public void setKillZoneLocation(Location killZoneLocation) {
-        this.killZonePositionY = killZoneLocation.getBlockY();
-    }
-
-    public boolean isOutsideKillzone(double positionY) {
-        return killZonePositionY > positionY;
-    }
-
     public void onPlayerBelowKillzone(LudosPlayer player) {
         player.entity().setHealth(0);
 
@@ -3,16 +3,21 @@ package fr.efreicraft.ludos.games.sumo;
 import com.google.common.collect.ImmutableMap;
 import fr.efreicraft.ecatup.players.scoreboards.ScoreboardField;
 import fr.efreicraft.ludos.core.Core;
+import fr.efreicraft.ludos.core.games.GameEventBus;
+import fr.efreicraft.ludos.core.games.GameManager;
 import fr.efreicraft.ludos.core.games.annotations.GameMetadata;
 import fr.efreicraft.ludos.core.games.annotations.GameRules;
 import fr.efreicraft.ludos.core.games.interfaces.Game;
+import fr.efreicraft.ludos.core.maps.MapRegion;
 import fr.efreicraft.ludos.core.players.LudosPlayer;
 import fr.efreicraft.ludos.core.teams.TeamRecord;
 import fr.efreicraft.ludos.core.utils.ColorUtils;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.*;
+import org.bukkit.event.entity.EntityDamageEvent;
 
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
 
 import static fr.efreicraft.ludos.core.teams.DefaultTeamRecordBuilder.DefaultTeamRecords.ONLY_SPECTATOR;
@@ -35,7 +40,12 @@ public class LudosGame extends Game {
     public LudosGame() {
         super();
         this.gameLogic = new GameLogic();
-        this.setEventListener(new EventListener(this.gameLogic));
+    }
+
+    @Override
+    public void registerPhaseHandlers(GameEventBus eventBus) {
+        eventBus.register(this, EntityDamageEvent.class, EnumSet.of(GameManager.GameStatus.INGAME),
+                GameEventBus.PlayerRole.PLAYING, (event, player) -> event.setDamage(0));
     }
 
     @Override
@@ -51,8 +61,10 @@ public class LudosGame extends Game {
 
     @Override
     public void postMapParse() {
-        this.gameLogic.setKillZoneLocation(
-                Core.get().getMapManager().getCurrentMap().getGamePoints().get("KILL_ZONE").get(0).getLocation()
+        Core.get().getMapManager().getRegionTriggers().register(
+                MapRegion.below(Core.get().getMapManager().getCurrentMap().getGamePoints().get("KILL_ZONE").get(0).getLocation().getBlockY()),
+                (player, region) -> this.gameLogic.onPlayerBelowKillzone(player),
+                null
         );
     }
 